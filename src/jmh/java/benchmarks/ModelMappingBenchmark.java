@@ -0,0 +1,153 @@
+package benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import helpers.PageStream;
+import helpers.ReqresObjectMapper;
+import helpers.ReqresStandIn;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+import io.restassured.response.Response;
+import models.lombok.ColorsResponseModel;
+import models.lombok.CreatePatchPutRequestModel;
+import models.lombok.UserLoginAndRegistrationRequestModel;
+import models.lombok.UsersListResponseModel;
+import models.records.UsersListRecord;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.http.ContentType.JSON;
+
+/**
+ * Serialisation of the request models and deserialisation of the list models, both the way RestAssured does it
+ * per call (its default Jackson factory builds a new ObjectMapper every time) and with the shared
+ * {@link ReqresObjectMapper}, into the lombok as well as the record models. A large synthetic users page is
+ * read both whole and streamed through {@link PageStream}; run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelMappingBenchmark {
+    private final DefaultJackson2ObjectMapperFactory restAssuredFactory = new DefaultJackson2ObjectMapperFactory();
+    private final ObjectWriter sharedWriter = ReqresObjectMapper.writer();
+    private final ObjectReader sharedReader = ReqresObjectMapper.reader();
+    private final ObjectReader usersListReader = ReqresObjectMapper.reader(UsersListResponseModel.class);
+    private final ObjectReader usersListRecordReader = ReqresObjectMapper.reader(UsersListRecord.class);
+    private final ObjectReader colorsReader = ReqresObjectMapper.reader(ColorsResponseModel.class);
+
+    private UserLoginAndRegistrationRequestModel loginBody;
+    private CreatePatchPutRequestModel createBody;
+    private String usersListJson;
+    private String colorsJson;
+    private byte[] largeUsersListJson;
+
+    @Param("5000")
+    private int largePageSize;
+
+    @Setup
+    public void setUp() throws Exception {
+        loginBody = new UserLoginAndRegistrationRequestModel();
+        loginBody.setEmail("eve.holt@reqres.in");
+        loginBody.setPassword("cityslicka");
+        createBody = new CreatePatchPutRequestModel();
+        createBody.setName("morpheus");
+        createBody.setJob("leader");
+
+        usersListJson = standIn("users?page=2");
+        colorsJson = standIn("unknown");
+        largeUsersListJson = largePage(usersListJson, largePageSize);
+    }
+
+    @Benchmark
+    public String serializeLoginModelRestAssuredFactory() throws Exception {
+        return restAssuredFactory.create(UserLoginAndRegistrationRequestModel.class, "UTF-8").writeValueAsString(loginBody);
+    }
+
+    @Benchmark
+    public String serializeLoginModelSharedMapper() throws Exception {
+        return sharedWriter.writeValueAsString(loginBody);
+    }
+
+    @Benchmark
+    public String serializeCreateModelRestAssuredFactory() throws Exception {
+        return restAssuredFactory.create(CreatePatchPutRequestModel.class, "UTF-8").writeValueAsString(createBody);
+    }
+
+    @Benchmark
+    public String serializeCreateModelSharedMapper() throws Exception {
+        return sharedWriter.writeValueAsString(createBody);
+    }
+
+    @Benchmark
+    public UsersListResponseModel deserializeUsersListExtractAs() {
+        return response(usersListJson).as(UsersListResponseModel.class);
+    }
+
+    @Benchmark
+    public UsersListResponseModel deserializeUsersListSharedMapper() throws Exception {
+        return usersListReader.readValue(usersListJson);
+    }
+
+    @Benchmark
+    public UsersListRecord deserializeUsersListRecordSharedMapper() throws Exception {
+        return usersListRecordReader.readValue(usersListJson);
+    }
+
+    @Benchmark
+    public UsersListResponseModel deserializeLargeUsersListSharedMapper() throws Exception {
+        return usersListReader.readValue(largeUsersListJson);
+    }
+
+    @Benchmark
+    public UsersListResponseModel streamLargeUsersList(Blackhole blackhole) {
+        return PageStream.users(new ByteArrayInputStream(largeUsersListJson), blackhole::consume);
+    }
+
+    @Benchmark
+    public ColorsResponseModel deserializeColorsExtractAs() {
+        return response(colorsJson).as(ColorsResponseModel.class);
+    }
+
+    @Benchmark
+    public ColorsResponseModel deserializeColorsSharedMapper() throws Exception {
+        return colorsReader.readValue(colorsJson);
+    }
+
+    private static Response response(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(JSON)
+                .setBody(body)
+                .build();
+    }
+
+    // The stand-in page with its users repeated up to the requested size
+    private byte[] largePage(String json, int size) throws Exception {
+        ObjectNode page = (ObjectNode) sharedReader.readTree(json);
+        ArrayNode users = (ArrayNode) page.get("data");
+        ArrayNode large = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < size; i++) {
+            large.add(users.get(i % users.size()).deepCopy());
+        }
+        page.set("data", large);
+        return sharedWriter.writeValueAsBytes(page);
+    }
+
+    private static String standIn(String path) {
+        return given()
+                .baseUri(ReqresStandIn.instance().baseUri())
+                .basePath("/api")
+                .get(path)
+                .asString();
+    }
+}
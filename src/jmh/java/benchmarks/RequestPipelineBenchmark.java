@@ -0,0 +1,115 @@
+package benchmarks;
+
+import helpers.CustomAllureListener;
+import helpers.ReqresStandIn;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.specification.RequestSpecification;
+import models.lombok.UserLoginAndRegistrationRequestModel;
+import models.lombok.UserLoginResponseModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.http.ContentType.JSON;
+import static specs.Specs.requestSpec;
+
+/**
+ * Client-side cost of one login call against the in-process stand-in, filter by filter.
+ * Logging filters write to a discarding stream so the numbers show formatting cost, not console speed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dreqres.standin=true")
+public class RequestPipelineBenchmark {
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private String baseUri;
+    private UserLoginAndRegistrationRequestModel body;
+    private AllureLifecycle lifecycle;
+    private String testUuid;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("allure.results.directory",
+                Files.createTempDirectory("jmh-allure-results").toString());
+        baseUri = ReqresStandIn.instance().baseUri();
+        body = new UserLoginAndRegistrationRequestModel();
+        body.setEmail("eve.holt@reqres.in");
+        body.setPassword("cityslicka");
+
+        // The Allure filters only attach to a running test case, so keep one open for the whole trial
+        lifecycle = Allure.getLifecycle();
+        testUuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(testUuid).setName("jmh"));
+        lifecycle.startTestCase(testUuid);
+    }
+
+    @TearDown
+    public void tearDown() {
+        lifecycle.stopTestCase(testUuid);
+        lifecycle.writeTestCase(testUuid);
+    }
+
+    @Benchmark
+    public RequestSpecification buildRequestFromSpec() {
+        return given(requestSpec).body(body);
+    }
+
+    @Benchmark
+    public UserLoginResponseModel loginWithoutFilters() {
+        return login(bare());
+    }
+
+    @Benchmark
+    public UserLoginResponseModel loginWithLoggingFilters() {
+        return login(bare()
+                .filter(new RequestLoggingFilter(LogDetail.URI, DISCARD))
+                .filter(new RequestLoggingFilter(LogDetail.BODY, DISCARD))
+                .filter(new ResponseLoggingFilter(LogDetail.STATUS, DISCARD))
+                .filter(new ResponseLoggingFilter(LogDetail.BODY, DISCARD)));
+    }
+
+    @Benchmark
+    public UserLoginResponseModel loginWithAllureRestAssured() {
+        return login(bare().filter(new AllureRestAssured()
+                .setRequestTemplate("request.ftl")
+                .setResponseTemplate("response.ftl")));
+    }
+
+    @Benchmark
+    public UserLoginResponseModel loginWithCachedTemplateAllureFilter() {
+        return login(bare().filter(CustomAllureListener.withCustomTemplates()));
+    }
+
+    private RequestSpecification bare() {
+        return given()
+                .baseUri(baseUri)
+                .basePath("/api")
+                .contentType(JSON);
+    }
+
+    private UserLoginResponseModel login(RequestSpecification spec) {
+        return spec
+                .body(body)
+                .when()
+                .post("login")
+                .then()
+                .statusCode(200)
+                .extract().as(UserLoginResponseModel.class);
+    }
+}
@@ -0,0 +1,30 @@
+package helpers;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One request/expectation pair of a data-driven suite, read by {@link ApiCases}.
+ * {@code expected} maps a JSON path of the response to the string form of its value,
+ * {@code present} lists paths that only have to be non-null.
+ */
+@Data
+public class ApiCase {
+    private String name;
+    private String method;
+    private String path;
+    private boolean json = true;
+    private String body;
+    private int status;
+    private Map<String, String> expected = new LinkedHashMap<>();
+    private List<String> present = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
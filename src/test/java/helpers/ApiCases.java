@@ -0,0 +1,189 @@
+package helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams {@link ApiCase}s from a classpath resource one at a time, so a case file of any size never has to fit
+ * in memory. The stream holds the file open until it is closed; JUnit closes argument streams once consumed.
+ * <p>
+ * JSON files are an array of objects with the {@link ApiCase} fields, {@code body} being any JSON value.
+ * CSV files start with the header {@code name,method,path,json,body,status,expected,present}; {@code expected}
+ * is {@code path=value;path=value}, {@code present} is {@code path;path}, fields may be double-quoted.
+ */
+public class ApiCases {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> CSV_HEADER =
+            List.of("name", "method", "path", "json", "body", "status", "expected", "present");
+
+    public static Stream<ApiCase> load(String resource) {
+        return resource.endsWith(".csv") ? fromCsv(resource) : fromJson(resource);
+    }
+
+    public static Stream<ApiCase> fromJson(String resource) {
+        InputStream in = open(resource);
+        try {
+            JsonParser parser = MAPPER.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException(resource + " must contain a JSON array of cases");
+            }
+            Iterator<ApiCase> cases = new Iterator<>() {
+                private JsonToken next = nextToken(parser);
+
+                @Override
+                public boolean hasNext() {
+                    return next == JsonToken.START_OBJECT;
+                }
+
+                @Override
+                public ApiCase next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    ApiCase apiCase = fromJsonNode(readTree(parser));
+                    next = nextToken(parser);
+                    return apiCase;
+                }
+            };
+            return stream(cases).onClose(() -> close(parser));
+        } catch (IOException e) {
+            close(in);
+            throw new UncheckedIOException("Could not read cases from " + resource, e);
+        }
+    }
+
+    public static Stream<ApiCase> fromCsv(String resource) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(open(resource), StandardCharsets.UTF_8));
+        try {
+            String header = reader.readLine();
+            if (header == null || !csvFields(header).equals(CSV_HEADER)) {
+                throw new IllegalArgumentException(resource + " must start with the header " + String.join(",", CSV_HEADER));
+            }
+        } catch (IOException e) {
+            close(reader);
+            throw new UncheckedIOException("Could not read cases from " + resource, e);
+        }
+        return reader.lines()
+                .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                .map(line -> fromCsvFields(csvFields(line)))
+                .onClose(() -> close(reader));
+    }
+
+    private static ApiCase fromJsonNode(JsonNode node) {
+        ApiCase apiCase = new ApiCase();
+        apiCase.setName(node.path("name").asText());
+        apiCase.setMethod(node.path("method").asText());
+        apiCase.setPath(node.path("path").asText());
+        apiCase.setJson(node.path("json").asBoolean(true));
+        JsonNode body = node.get("body");
+        apiCase.setBody(body == null || body.isNull() ? null : body.isTextual() ? body.asText() : body.toString());
+        apiCase.setStatus(node.path("status").asInt());
+        node.path("expected").fields().forEachRemaining(field -> apiCase.getExpected().put(field.getKey(), field.getValue().asText()));
+        node.path("present").forEach(path -> apiCase.getPresent().add(path.asText()));
+        return apiCase;
+    }
+
+    private static ApiCase fromCsvFields(List<String> fields) {
+        ApiCase apiCase = new ApiCase();
+        apiCase.setName(fields.get(0));
+        apiCase.setMethod(fields.get(1));
+        apiCase.setPath(fields.get(2));
+        apiCase.setJson(fields.get(3).isEmpty() || Boolean.parseBoolean(fields.get(3)));
+        apiCase.setBody(fields.get(4).isEmpty() ? null : fields.get(4));
+        apiCase.setStatus(Integer.parseInt(fields.get(5)));
+        for (String pair : fields.get(6).split(";")) {
+            if (!pair.isEmpty()) {
+                String[] pathAndValue = pair.split("=", 2);
+                apiCase.getExpected().put(pathAndValue[0], pathAndValue.length > 1 ? pathAndValue[1] : "");
+            }
+        }
+        Arrays.stream(fields.get(7).split(";")).filter(path -> !path.isEmpty()).forEach(apiCase.getPresent()::add);
+        return apiCase;
+    }
+
+    // RFC 4180 fields within one line: quoted fields may contain commas, "" stands for a quote
+    static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        while (fields.size() < CSV_HEADER.size()) {
+            fields.add("");
+        }
+        return fields;
+    }
+
+    private static InputStream open(String resource) {
+        InputStream in = ApiCases.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("No case file " + resource + " on the classpath");
+        }
+        return in;
+    }
+
+    private static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    private static JsonToken nextToken(JsonParser parser) {
+        try {
+            return parser.nextToken();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonNode readTree(JsonParser parser) {
+        try {
+            return MAPPER.readTree(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void close(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.util.stream.Stream;
+
+public class ApiCasesProvider implements ArgumentsProvider, AnnotationConsumer<ApiCasesSource> {
+    private String resource;
+
+    @Override
+    public void accept(ApiCasesSource source) {
+        this.resource = source.value();
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        return ApiCases.load(resource).map(Arguments::of);
+    }
+}
@@ -0,0 +1,18 @@
+package helpers;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Feeds a {@code @ParameterizedTest} with the {@link ApiCase}s of a JSON or CSV classpath resource.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ArgumentsSource(ApiCasesProvider.class)
+public @interface ApiCasesSource {
+    String value();
+}
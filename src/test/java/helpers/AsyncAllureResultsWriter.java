@@ -0,0 +1,163 @@
+package helpers;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves Allure result and attachment writes off the test threads: writes are queued and a single background
+ * thread hands them to the wrapped writer one at a time, in the order they were queued. The queue is bounded, so
+ * a producer that outruns the disk waits instead of buffering without limit. {@link #flush} returns once
+ * everything queued before it is on disk; {@link #close} also stops the thread.
+ */
+public class AsyncAllureResultsWriter implements AllureResultsWriter, AutoCloseable {
+    // Taken off the queue in one go to spare the lock, then written one by one
+    private static final int BATCH_SIZE = 64;
+    private static final long CLOSE_SECONDS = 10;
+    private static final Runnable STOP = () -> { };
+
+    private final AllureResultsWriter delegate;
+    private final BlockingQueue<Runnable> queue;
+    private final Thread writer;
+    private final Thread flushOnExit;
+    private volatile boolean closed;
+
+    public AsyncAllureResultsWriter(AllureResultsWriter delegate, int capacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "allure-results-writer");
+        writer.setDaemon(true);
+        writer.start();
+        this.flushOnExit = new Thread(() -> flush(CLOSE_SECONDS, TimeUnit.SECONDS), "allure-results-flush");
+        Runtime.getRuntime().addShutdownHook(flushOnExit);
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        enqueue(() -> delegate.write(testResult));
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        enqueue(() -> delegate.write(testResultContainer));
+    }
+
+    // The caller may close or reuse the stream as soon as this returns, so its bytes are taken now
+    @Override
+    public void write(String source, InputStream attachment) {
+        byte[] bytes;
+        try (attachment) {
+            bytes = attachment.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read Allure attachment " + source, e);
+        }
+        enqueue(() -> delegate.write(source, new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * @return false when the queue did not drain within the timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        if (closed && !writer.isAlive()) {
+            return true;
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            if (!queue.offer(done::countDown, timeout, unit)) {
+                return false;
+            }
+            return done.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes what is still queued, stops the writer thread and removes the shutdown hook, waiting up to
+     * 10 seconds for a stuck writer. Writes after closing go straight to the wrapped writer.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            Runtime.getRuntime().removeShutdownHook(flushOnExit);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down and the hook flushes anyway
+        }
+        try {
+            if (!queue.offer(STOP, CLOSE_SECONDS, TimeUnit.SECONDS)) {
+                writer.interrupt();
+            }
+            writer.join(TimeUnit.SECONDS.toMillis(CLOSE_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            return;
+        }
+        // Writes that raced with closing and landed behind STOP
+        List<Runnable> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(AsyncAllureResultsWriter::run);
+    }
+
+    private void enqueue(Runnable write) {
+        if (closed) {
+            write.run();
+            return;
+        }
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Better a slow synchronous write than a result missing from the report
+            write.run();
+        }
+    }
+
+    private void drain() {
+        List<Runnable> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            boolean stop = false;
+            for (Runnable write : batch) {
+                stop |= write == STOP;
+                run(write);
+            }
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    // Anything escaping here would end the only writer thread and leave producers blocked on a full queue
+    private static void run(Runnable write) {
+        try {
+            write.run();
+        } catch (Throwable e) {
+            System.err.println("Could not write Allure result: " + e);
+        }
+    }
+}
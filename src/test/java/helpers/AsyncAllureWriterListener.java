@@ -0,0 +1,61 @@
+package helpers;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts {@link AsyncAllureResultsWriter} in front of the Allure writer for the run, and drains and closes it when
+ * the run ends.
+ * <p>
+ * The Allure JUnit listener takes the lifecycle once, in its constructor, and the lifecycle offers no way to
+ * change its writer, so the writer is swapped inside the shared lifecycle instance instead of installing a new one.
+ * {@code -Dallure.async=false} keeps writes synchronous, {@code -Dallure.async.queue} bounds the queue (default 1024).
+ */
+public class AsyncAllureWriterListener implements TestExecutionListener {
+    private AsyncAllureResultsWriter writer;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (!Boolean.parseBoolean(System.getProperty("allure.async", "true"))) {
+            return;
+        }
+        try {
+            writer = install(Allure.getLifecycle(), Integer.getInteger("allure.async.queue", 1024));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.err.println("Allure results stay synchronous, could not install the async writer: " + e);
+        }
+    }
+
+    /**
+     * Puts an async writer in front of the writer of {@code lifecycle}, or returns the one already there.
+     */
+    public static AsyncAllureResultsWriter install(AllureLifecycle lifecycle, int capacity)
+            throws ReflectiveOperationException {
+        Field field = AllureLifecycle.class.getDeclaredField("writer");
+        field.setAccessible(true);
+        AllureResultsWriter current = (AllureResultsWriter) field.get(lifecycle);
+        if (current instanceof AsyncAllureResultsWriter) {
+            return (AsyncAllureResultsWriter) current;
+        }
+        AsyncAllureResultsWriter async = new AsyncAllureResultsWriter(current, capacity);
+        field.set(lifecycle, async);
+        return async;
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (writer == null) {
+            return;
+        }
+        if (!writer.flush(30, TimeUnit.SECONDS)) {
+            System.err.println("Allure results were still being written after 30s; the report may be incomplete");
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,200 @@
+package helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Non-blocking counterpart of {@code given(requestSpec)} for bulk scenarios: sends the same lombok request
+ * models through {@link HttpClient} and completes with the same response models, so a handful of threads can
+ * keep hundreds of requests in flight.
+ * <p>
+ * A status other than the expected one completes the future exceptionally with an {@link AssertionError}
+ * carrying the response body, like a failing response spec. Timings go into {@link LatencyCollector}, and each
+ * exchange into the {@link LogOnFailureFilter} buffer of the test that sent it.
+ * <p>
+ * Requests prefer HTTP/2, so concurrent calls to an HTTPS target share one multiplexed connection (plain-HTTP
+ * targets such as the stand-in answer in HTTP/1.1), and ask for gzip or deflate; bodies are decoded and parsed
+ * once they have fully arrived, so the client's threads never wait on the network. Encoded body sizes go into
+ * {@link RequestPhaseMetrics#transfers()}.
+ */
+public class AsyncReqresClient {
+    private static final AsyncReqresClient INSTANCE = new AsyncReqresClient(ReqresTarget.baseUri() + "/api/",
+            Integer.getInteger("reqres.async.threads", 4));
+
+    private final String baseUri;
+    private final HttpClient client;
+
+    AsyncReqresClient(String baseUri, int threads) {
+        this.baseUri = baseUri;
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "reqres-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static AsyncReqresClient asyncReqres() {
+        return INSTANCE;
+    }
+
+    public <T> CompletableFuture<T> get(String path, int expectedStatus, Class<T> responseType) {
+        return send("GET", path, null, expectedStatus, responseType);
+    }
+
+    public <T> CompletableFuture<T> post(String path, Object body, int expectedStatus, Class<T> responseType) {
+        return send("POST", path, body, expectedStatus, responseType);
+    }
+
+    public <T> CompletableFuture<T> put(String path, Object body, int expectedStatus, Class<T> responseType) {
+        return send("PUT", path, body, expectedStatus, responseType);
+    }
+
+    public <T> CompletableFuture<T> patch(String path, Object body, int expectedStatus, Class<T> responseType) {
+        return send("PATCH", path, body, expectedStatus, responseType);
+    }
+
+    public CompletableFuture<Void> delete(String path, int expectedStatus) {
+        return send("DELETE", path, null, expectedStatus, Void.class);
+    }
+
+    private <T> CompletableFuture<T> send(String method, String path, Object body, int expectedStatus,
+                                          Class<T> responseType) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip, deflate");
+        byte[] payload = body == null ? new byte[0] : serialize(body);
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(payload));
+        }
+        String endpoint = method + " " + Endpoint.normalise(URI.create(baseUri + path).getPath(), "/api");
+        // Callbacks run on the client's pool, whose threads belong to no test
+        LogOnFailureFilter.Exchanges exchanges = LogOnFailureFilter.current();
+        long start = System.nanoTime();
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try (CountingInputStream decoded = new CountingInputStream(
+                            decode(new ByteArrayInputStream(response.body()), response))) {
+                        if (response.statusCode() != expectedStatus) {
+                            String error = new String(decoded.readAllBytes(), StandardCharsets.UTF_8);
+                            LatencyCollector.record(endpoint, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                            log(exchanges, method, response, payload, error);
+                            throw new AssertionError(endpoint + ": expected status code <" + expectedStatus
+                                    + "> but was <" + response.statusCode() + ">\n" + error);
+                        }
+                        T result = deserialize(decoded, responseType);
+                        decoded.transferTo(OutputStream.nullOutputStream());
+                        LatencyCollector.record(endpoint, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                        RequestPhaseMetrics.recordTransfer(endpoint, payload.length, response.body().length,
+                                decoded.count);
+                        log(exchanges, method, response, payload, decoded.count + " bytes");
+                        return result;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not read response of " + endpoint, e);
+                    }
+                });
+    }
+
+    // The body is parsed as it is decoded and not kept; only an unexpected status keeps it for the log
+    private static void log(LogOnFailureFilter.Exchanges exchanges, String method, HttpResponse<?> response,
+                            byte[] payload, String body) {
+        if (exchanges == null) {
+            return;
+        }
+        StringBuilder log = new StringBuilder()
+                .append("Request method:\t").append(method).append('\n')
+                .append("Request URI:\t").append(response.uri()).append('\n');
+        if (payload.length > 0) {
+            log.append("Body:\n").append(new String(payload, StandardCharsets.UTF_8)).append('\n');
+        }
+        exchanges.add(log.append(response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2 " : "HTTP/1.1 ")
+                .append(response.statusCode()).append('\n')
+                .append(body)
+                .toString());
+    }
+
+    private static InputStream decode(InputStream body, HttpResponse<?> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        switch (encoding.toLowerCase(Locale.ROOT)) {
+            case "gzip":
+                return new GZIPInputStream(body);
+            case "deflate":
+                return new InflaterInputStream(body);
+            default:
+                return body;
+        }
+    }
+
+    private static byte[] serialize(Object body) {
+        try {
+            return ReqresObjectMapper.writer().writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialise " + body.getClass().getName(), e);
+        }
+    }
+
+    private static <T> T deserialize(InputStream body, Class<T> type) throws IOException {
+        if (type == Void.class) {
+            return null;
+        }
+        // The stream is left open for the caller to drain; an empty body reads as no value
+        ObjectReader reader = ReqresObjectMapper.reader(type);
+        try (JsonParser parser = reader.createParser(body).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)) {
+            return parser.nextToken() == null ? null : reader.readValue(parser);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package helpers;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import io.qameta.allure.Allure;
+import io.qameta.allure.attachment.AttachmentData;
+import io.qameta.allure.attachment.AttachmentRenderException;
+import io.qameta.allure.attachment.AttachmentRenderer;
+import io.qameta.allure.attachment.DefaultAttachmentContent;
+import io.qameta.allure.attachment.DefaultAttachmentProcessor;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.internal.NameAndValue;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Same attachments as {@link io.qameta.allure.restassured.AllureRestAssured}, but the templates are parsed once
+ * and the filter holds no mutable state, so one instance can be shared by concurrently running tests.
+ * <p>
+ * Bodies longer than {@code maxBodyChars} are cut in the HTML attachment; with {@code gzipOverflow} the full
+ * body is attached alongside as a gzip file.
+ */
+public class CachedTemplateAllureFilter implements OrderedFilter {
+    private final AttachmentRenderer<AttachmentData> requestRenderer;
+    private final AttachmentRenderer<AttachmentData> responseRenderer;
+    private final int maxBodyChars;
+    private final boolean gzipOverflow;
+
+    public CachedTemplateAllureFilter(String requestTemplate, String responseTemplate) {
+        this(requestTemplate, responseTemplate, Integer.MAX_VALUE, false);
+    }
+
+    public CachedTemplateAllureFilter(String requestTemplate, String responseTemplate,
+                                      int maxBodyChars, boolean gzipOverflow) {
+        this.maxBodyChars = maxBodyChars;
+        this.gzipOverflow = gzipOverflow;
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_23);
+        configuration.setLocalizedLookup(false);
+        configuration.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "tpl");
+        this.requestRenderer = renderer(configuration, requestTemplate);
+        this.responseRenderer = renderer(configuration, responseTemplate);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        // Outside a running test (e.g. the load runner) there is nothing to attach to, so skip rendering
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isEmpty()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Prettifier prettifier = new Prettifier();
+        HttpRequestAttachment.Builder request = HttpRequestAttachment.Builder.create("Request", requestSpec.getURI())
+                .setMethod(requestSpec.getMethod())
+                .setHeaders(toMap(requestSpec.getHeaders()))
+                .setCookies(toMap(requestSpec.getCookies()));
+        if (requestSpec.getBody() != null) {
+            request.setBody(cap("Request", prettifier.getPrettifiedBodyIfPossible(requestSpec)));
+        }
+        new DefaultAttachmentProcessor().addAttachment(request.build(), requestRenderer);
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        // Pretty-printing a body that is going to be cut anyway is wasted work
+        String responseBody = response.asByteArray().length > maxBodyChars
+                ? response.asString()
+                : prettifier.getPrettifiedBodyIfPossible(response, response.getBody());
+        HttpResponseAttachment responseAttachment = HttpResponseAttachment.Builder.create(response.getStatusLine())
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders()))
+                .setBody(cap("Response", responseBody))
+                .build();
+        new DefaultAttachmentProcessor().addAttachment(responseAttachment, responseRenderer);
+
+        return response;
+    }
+
+    // Ahead of the memoising, replaying and retrying filters at the very end, so answers from memory or a recording
+    // still get attachments; the order decides, since global filters otherwise go in front of a spec's
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE - 1;
+    }
+
+    private String cap(String name, String body) {
+        if (body == null || body.length() <= maxBodyChars) {
+            return body;
+        }
+        if (gzipOverflow) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Allure.getLifecycle().addAttachment(name + " body (full)", "application/gzip", ".gz",
+                    compressed.toByteArray());
+        }
+        return body.substring(0, maxBodyChars)
+                + "\n... truncated, " + (body.length() - maxBodyChars) + " of " + body.length() + " characters omitted";
+    }
+
+    // Template instances are immutable once parsed and safe to process from several threads
+    private static AttachmentRenderer<AttachmentData> renderer(Configuration configuration, String templateName) {
+        Template template;
+        try {
+            template = configuration.getTemplate(templateName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load Allure template " + templateName, e);
+        }
+        return data -> {
+            StringWriter writer = new StringWriter();
+            try {
+                template.process(Collections.singletonMap("data", data), writer);
+            } catch (Exception e) {
+                throw new AttachmentRenderException("Could not render http attachment " + templateName, e);
+            }
+            return new DefaultAttachmentContent(writer.toString(), "text/html", ".html");
+        };
+    }
+
+    private static Map<String, String> toMap(Iterable<? extends NameAndValue> items) {
+        Map<String, String> result = new HashMap<>();
+        items.forEach(item -> result.put(item.getName(), item.getValue()));
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package helpers;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker for one remote host.
+ * <p>
+ * After {@code failureThreshold} failures in a row the circuit opens and every call fails immediately for
+ * {@code openFor}; then a single trial call is let through, which either closes the circuit or opens it again.
+ */
+public class CircuitBreaker {
+    private final String name;
+    private final int failureThreshold;
+    private final long openForNanos;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean open;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openFor) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openForNanos = openFor.toNanos();
+    }
+
+    /**
+     * @throws IllegalStateException while the circuit is open
+     */
+    public synchronized void checkClosed() {
+        if (!open) {
+            return;
+        }
+        if (!trialInFlight && System.nanoTime() - openedAt >= openForNanos) {
+            trialInFlight = true;
+            return;
+        }
+        throw new IllegalStateException("Circuit open for " + name + " after " + consecutiveFailures
+                + " consecutive failures, failing fast");
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        open = false;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (trialInFlight || consecutiveFailures >= failureThreshold) {
+            open = true;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+        }
+    }
+}
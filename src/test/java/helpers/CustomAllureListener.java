@@ -1,13 +1,13 @@
 package helpers;
 
-import io.qameta.allure.restassured.AllureRestAssured;
-
 public class CustomAllureListener {
-    private static final AllureRestAssured FILTER = new AllureRestAssured();
+    private static final CachedTemplateAllureFilter FILTER = new CachedTemplateAllureFilter(
+            "request.ftl",
+            "response.ftl",
+            Integer.getInteger("reqres.attachment.maxBodyChars", 64 * 1024),
+            Boolean.getBoolean("reqres.attachment.gzipOverflow"));
 
-    public static AllureRestAssured withCustomTemplates() {
-        FILTER.setRequestTemplate("request.ftl");
-        FILTER.setResponseTemplate("response.ftl");
+    public static CachedTemplateAllureFilter withCustomTemplates() {
         return FILTER;
     }
-}
\ No newline at end of file
+}
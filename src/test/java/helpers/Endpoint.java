@@ -0,0 +1,23 @@
+package helpers;
+
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.net.URI;
+
+/**
+ * Stable per-endpoint key such as {@code GET users/{id}}: base path and query are dropped,
+ * numeric path segments are folded into {@code {id}}.
+ */
+public class Endpoint {
+    public static String of(FilterableRequestSpecification requestSpec) {
+        return requestSpec.getMethod() + " " + normalise(URI.create(requestSpec.getURI()).getPath(), requestSpec.getBasePath());
+    }
+
+    static String normalise(String path, String basePath) {
+        String trimmedBase = basePath == null ? "" : basePath.replaceAll("/+$", "");
+        if (!trimmedBase.isEmpty() && path.startsWith(trimmedBase)) {
+            path = path.substring(trimmedBase.length());
+        }
+        return path.replaceAll("^/+|/+$", "").replaceAll("(^|/)\\d+(?=/|$)", "$1{id}");
+    }
+}
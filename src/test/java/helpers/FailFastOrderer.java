@@ -0,0 +1,84 @@
+package helpers;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Orders test classes and methods so that a broken deployment shows up within seconds: recently failed first,
+ * then fastest first, judged by the {@link TestHistory} file, and tests without history last, since they may be
+ * slow. Enabled for the whole suite through {@code junit.jupiter.test{method,class}.order.default}.
+ */
+public class FailFastOrderer implements MethodOrderer, ClassOrderer {
+    private static final Comparator<TestHistory.Entry> FAIL_FAST = Comparator
+            .comparingDouble((TestHistory.Entry entry) -> -entry.failureScore)
+            .thenComparingLong(entry -> entry.millis);
+
+    // Sorts after every run time on record
+    private static final TestHistory.Entry UNKNOWN = new TestHistory.Entry(0, Long.MAX_VALUE);
+
+    private final TestHistory history;
+
+    public FailFastOrderer() {
+        this(TestHistory.load());
+    }
+
+    private FailFastOrderer(TestHistory history) {
+        this.history = history;
+    }
+
+    public static FailFastOrderer fromHistory(Path file) {
+        return new FailFastOrderer(TestHistory.load(file));
+    }
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        context.getMethodDescriptors().sort(Comparator.comparing(
+                (MethodDescriptor method) -> entry(TestHistory.key(
+                        method.getMethod().getDeclaringClass().getName(), method.getMethod().getName())), FAIL_FAST)
+                .thenComparing(method -> method.getMethod().getName()));
+    }
+
+    // MethodOrderer defaults to SAME_THREAD; ordering only decides who starts first, the run stays concurrent
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        context.getClassDescriptors().sort(Comparator.comparing(
+                (ClassDescriptor testClass) -> classEntry(testClass.getTestClass().getName()), FAIL_FAST)
+                .thenComparing(testClass -> testClass.getTestClass().getName()));
+    }
+
+    private TestHistory.Entry entry(String key) {
+        TestHistory.Entry entry = history.get(key);
+        return entry == null ? UNKNOWN : entry;
+    }
+
+    // A class is as suspicious as its worst method and takes as long as all of them
+    private TestHistory.Entry classEntry(String className) {
+        double failureScore = 0;
+        long millis = 0;
+        boolean known = false;
+        for (Map.Entry<String, TestHistory.Entry> entry : history.entries().entrySet()) {
+            if (entry.getKey().startsWith(TestHistory.key(className, ""))) {
+                failureScore = Math.max(failureScore, entry.getValue().failureScore);
+                millis += entry.getValue().millis;
+                known = true;
+            }
+        }
+        return known ? new TestHistory.Entry(failureScore, millis) : UNKNOWN;
+    }
+}
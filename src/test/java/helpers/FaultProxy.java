@@ -0,0 +1,333 @@
+package helpers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP proxy in front of the Reqres target that degrades traffic on purpose: added latency with jitter,
+ * a bandwidth cap on response bodies, dropped connections and injected 429/5xx responses, per endpoint.
+ * <p>
+ * {@code -Dreqres.faults=path/to/faults.properties} routes the whole suite through a proxy configured from that
+ * file (see {@link ReqresTarget}); entries look like {@code GET.users/{id}.latency=300}, with {@code *} for any
+ * method or path. Faults: {@code latency} and {@code jitter} (ms), {@code distribution}
+ * ({@code uniform}, {@code normal} or {@code exponential} spread of the jitter), {@code bandwidth} (bytes per
+ * second), {@code drop} (probability), {@code status} and {@code statusRate} (probability, default 1).
+ * Tests can also {@link #start(String)} a proxy of their own, {@link #inject(Rule)} rules into it and count the
+ * requests each rule saw, a rule without faults just counting.
+ */
+public class FaultProxy implements AutoCloseable {
+    public enum Distribution { UNIFORM, NORMAL, EXPONENTIAL }
+
+    // Managed by either side of the proxy connection, never copied across
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "content-length", "expect", "host",
+            "keep-alive", "transfer-encoding", "upgrade", "date");
+
+    private final String upstream;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final List<Rule> rules = new CopyOnWriteArrayList<>();
+
+    private FaultProxy(String upstream) {
+        this.upstream = upstream.replaceAll("/+$", "");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start fault proxy", e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fault-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    private static class Holder {
+        private static final FaultProxy INSTANCE = configured();
+    }
+
+    /**
+     * The run-wide proxy configured from {@code -Dreqres.faults}, in front of {@code upstream}.
+     */
+    static FaultProxy instance() {
+        return Holder.INSTANCE;
+    }
+
+    public static FaultProxy start(String upstream) {
+        return new FaultProxy(upstream);
+    }
+
+    public static Rule rule(String method, String path) {
+        return new Rule(method, path);
+    }
+
+    public String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public FaultProxy inject(Rule rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    public FaultProxy clear() {
+        rules.clear();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static FaultProxy configured() {
+        FaultProxy proxy = new FaultProxy(ReqresTarget.upstreamBaseUri());
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(System.getProperty("reqres.faults")))) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read faults", e);
+        }
+        Map<String, Rule> byEndpoint = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int method = key.indexOf('.');
+            int fault = key.lastIndexOf('.');
+            if (method < 0 || fault <= method) {
+                throw new IllegalArgumentException("Malformed fault: " + key);
+            }
+            String methodName = key.substring(0, method), path = key.substring(method + 1, fault);
+            byEndpoint.computeIfAbsent(methodName + " " + path, endpoint -> rule(methodName, path))
+                    .set(key.substring(fault + 1), properties.getProperty(key).trim());
+        }
+        byEndpoint.values().forEach(proxy::inject);
+        return proxy;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            Rule rule = match(method, Endpoint.normalise(exchange.getRequestURI().getPath(), "/api"));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            if (rule != null) {
+                rule.hits.increment();
+                sleep(rule.delayMillis(random));
+                // Closing before any response headers are sent makes the server drop the connection
+                if (random.nextDouble() < rule.drop) {
+                    return;
+                }
+                if (rule.status > 0 && random.nextDouble() < rule.statusRate) {
+                    byte[] body = ("{\"error\":\"injected " + rule.status + "\"}").getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                    if (rule.status == 429) {
+                        exchange.getResponseHeaders().set("Retry-After", "1");
+                    }
+                    write(exchange, rule.status, body, rule.bandwidth);
+                    return;
+                }
+            }
+
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(forward(exchange), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                write(exchange, 502, new byte[0], 0);
+                return;
+            }
+            response.headers().map().forEach((name, values) -> {
+                if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            write(exchange, response.statusCode(), response.body(), rule == null ? 0 : rule.bandwidth);
+        }
+    }
+
+    private HttpRequest forward(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + exchange.getRequestURI()))
+                .timeout(Duration.ofSeconds(30))
+                .method(exchange.getRequestMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        return request.build();
+    }
+
+    // The most specific matching rule wins: an exact path beats an exact method beats the catch-all
+    private Rule match(String method, String path) {
+        Rule best = null;
+        for (Rule rule : rules) {
+            if (rule.matches(method, path) && (best == null || rule.specificity() > best.specificity())) {
+                best = rule;
+            }
+        }
+        return best;
+    }
+
+    private static void write(HttpExchange exchange, int status, byte[] body, long bytesPerSecond)
+            throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length == 0) {
+            return;
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (bytesPerSecond <= 0) {
+                out.write(body);
+                return;
+            }
+            // Ten chunks a second, each held back until the cap allows all of its bytes to have arrived
+            int chunk = (int) Math.max(1, bytesPerSecond / 10);
+            long start = System.nanoTime();
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                int length = Math.min(chunk, body.length - offset);
+                long due = (offset + length) * 1000L / bytesPerSecond;
+                sleep(due - (System.nanoTime() - start) / 1_000_000);
+                out.write(body, offset, length);
+                out.flush();
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Faults for one endpoint key as produced by {@link Endpoint}, e.g. {@code GET users/{id}}; {@code *} matches
+     * any method or path.
+     */
+    public static class Rule {
+        private final String method;
+        private final String path;
+        private volatile long latencyMillis;
+        private volatile long jitterMillis;
+        private volatile Distribution distribution = Distribution.UNIFORM;
+        private volatile long bandwidth;
+        private volatile double drop;
+        private volatile int status;
+        private volatile double statusRate = 1;
+        private final LongAdder hits = new LongAdder();
+
+        private Rule(String method, String path) {
+            this.method = method.toUpperCase(Locale.ROOT);
+            this.path = path.replaceAll("^/+|/+$", "");
+        }
+
+        public Rule latency(long millis, long jitterMillis, Distribution distribution) {
+            this.latencyMillis = millis;
+            this.jitterMillis = jitterMillis;
+            this.distribution = distribution;
+            return this;
+        }
+
+        public Rule bandwidth(long bytesPerSecond) {
+            this.bandwidth = bytesPerSecond;
+            return this;
+        }
+
+        public Rule drop(double probability) {
+            this.drop = probability;
+            return this;
+        }
+
+        public Rule status(int status, double probability) {
+            this.status = status;
+            this.statusRate = probability;
+            return this;
+        }
+
+        /**
+         * @return requests this rule matched so far, whether a fault applied to them or not
+         */
+        public long hits() {
+            return hits.sum();
+        }
+
+        private void set(String fault, String value) {
+            switch (fault) {
+                case "latency": latencyMillis = Long.parseLong(value); break;
+                case "jitter": jitterMillis = Long.parseLong(value); break;
+                case "distribution": distribution = Distribution.valueOf(value.toUpperCase(Locale.ROOT)); break;
+                case "bandwidth": bandwidth = Long.parseLong(value); break;
+                case "drop": drop = Double.parseDouble(value); break;
+                case "status": status = Integer.parseInt(value); break;
+                case "statusRate": statusRate = Double.parseDouble(value); break;
+                default: throw new IllegalArgumentException("Unknown fault: " + fault);
+            }
+        }
+
+        private boolean matches(String method, String path) {
+            return (this.method.equals("*") || this.method.equals(method))
+                    && (this.path.equals("*") || this.path.equals(path));
+        }
+
+        private int specificity() {
+            return (path.equals("*") ? 0 : 2) + (method.equals("*") ? 0 : 1);
+        }
+
+        private long delayMillis(ThreadLocalRandom random) {
+            if (jitterMillis <= 0) {
+                return latencyMillis;
+            }
+            double jitter;
+            switch (distribution) {
+                case NORMAL: jitter = Math.abs(random.nextGaussian()) * jitterMillis; break;
+                case EXPONENTIAL: jitter = -Math.log(1 - random.nextDouble()) * jitterMillis; break;
+                default: jitter = random.nextDouble() * jitterMillis;
+            }
+            return latencyMillis + Math.round(jitter);
+        }
+    }
+}
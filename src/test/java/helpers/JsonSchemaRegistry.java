@@ -0,0 +1,79 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads and compiles each classpath JSON schema once per JVM.
+ * Drop-in for {@code matchesJsonSchemaInClasspath}, which re-reads and re-compiles the schema on every match.
+ */
+public class JsonSchemaRegistry {
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    public static Matcher<String> matchesCachedJsonSchema(String classpathLocation) {
+        return new SchemaMatcher(classpathLocation, schema(classpathLocation));
+    }
+
+    static JsonSchema schema(String classpathLocation) {
+        return SCHEMAS.computeIfAbsent(classpathLocation, JsonSchemaRegistry::compile);
+    }
+
+    private static JsonSchema compile(String classpathLocation) {
+        try {
+            String resource = classpathLocation.startsWith("/") ? classpathLocation : "/" + classpathLocation;
+            return FACTORY.getJsonSchema(JsonLoader.fromResource(resource));
+        } catch (IOException | ProcessingException e) {
+            throw new IllegalStateException("Could not load JSON schema " + classpathLocation, e);
+        }
+    }
+
+    private static class SchemaMatcher extends TypeSafeMatcher<String> {
+        private final String location;
+        private final JsonSchema schema;
+
+        SchemaMatcher(String location, JsonSchema schema) {
+            this.location = location;
+            this.schema = schema;
+        }
+
+        @Override
+        protected boolean matchesSafely(String json) {
+            ProcessingReport report = validate(json);
+            return report != null && report.isSuccess();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("the supplied JSON schema " + location);
+        }
+
+        @Override
+        protected void describeMismatchSafely(String json, Description description) {
+            ProcessingReport report = validate(json);
+            description.appendText(report == null ? "was not valid JSON" : report.toString());
+        }
+
+        private ProcessingReport validate(String json) {
+            try {
+                JsonNode node = MAPPER.readTree(json);
+                return schema.validate(node);
+            } catch (IOException | ProcessingException e) {
+                return null;
+            }
+        }
+    }
+}
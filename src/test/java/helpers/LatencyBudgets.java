@@ -0,0 +1,106 @@
+package helpers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Percentile budgets per endpoint, read from {@code latency-budgets.properties} on the classpath
+ * or from the file named by {@code -Dlatency.budgets}. Entries look like {@code GET.users/{id}.p95=800} (milliseconds).
+ */
+public class LatencyBudgets {
+    private final List<Budget> budgets;
+
+    private LatencyBudgets(List<Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    public static LatencyBudgets load() {
+        String location = System.getProperty("latency.budgets");
+        if (location != null) {
+            return load(Path.of(location));
+        }
+        try (InputStream in = LatencyBudgets.class.getClassLoader().getResourceAsStream("latency-budgets.properties")) {
+            return parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read latency budgets", e);
+        }
+    }
+
+    public static LatencyBudgets load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read latency budgets from " + file, e);
+        }
+    }
+
+    private static LatencyBudgets parse(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        if (in != null) {
+            properties.load(in);
+        }
+        List<Budget> budgets = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            int method = key.indexOf('.');
+            int percentile = key.lastIndexOf(".p");
+            if (method < 0 || percentile <= method) {
+                throw new IllegalArgumentException("Malformed latency budget: " + key);
+            }
+            budgets.add(new Budget(
+                    key.substring(0, method) + " " + key.substring(method + 1, percentile),
+                    Double.parseDouble(key.substring(percentile + 2)),
+                    Double.parseDouble(properties.getProperty(key).trim())));
+        }
+        return new LatencyBudgets(budgets);
+    }
+
+    public List<String> violations(Map<String, LatencyHistogram> histograms) {
+        List<String> violations = new ArrayList<>();
+        for (Budget budget : budgets) {
+            LatencyHistogram histogram = histograms.get(budget.endpoint);
+            if (histogram == null || histogram.count() == 0) {
+                continue;
+            }
+            double actual = histogram.percentileMillis(budget.percentile);
+            if (actual > budget.maxMillis) {
+                violations.add(String.format("%s p%s = %.1f ms exceeds budget of %.0f ms (%d samples)",
+                        budget.endpoint, format(budget.percentile), actual, budget.maxMillis, histogram.count()));
+            }
+        }
+        return violations;
+    }
+
+    public String describe(String endpoint) {
+        StringBuilder description = new StringBuilder();
+        for (Budget budget : budgets) {
+            if (budget.endpoint.equals(endpoint)) {
+                description.append(description.length() == 0 ? "" : ", ")
+                        .append("p").append(format(budget.percentile)).append("<").append((long) budget.maxMillis);
+            }
+        }
+        return description.length() == 0 ? "-" : description.toString();
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static class Budget {
+        final String endpoint;
+        final double percentile;
+        final double maxMillis;
+
+        Budget(String endpoint, double percentile, double maxMillis) {
+            this.endpoint = endpoint;
+            this.percentile = percentile;
+            this.maxMillis = maxMillis;
+        }
+    }
+}
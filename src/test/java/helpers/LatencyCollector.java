@@ -0,0 +1,58 @@
+package helpers;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the response time of every call that passes through it into a per-endpoint histogram
+ * shared by the whole JVM. {@link LatencyReportListener} evaluates them against the budgets at the end of the run.
+ */
+public class LatencyCollector implements Filter {
+    private static final LatencyCollector INSTANCE = new LatencyCollector();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    // The filter can reach a request twice, from the global filters and from a spec; only the outer one records
+    private final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+    public static LatencyCollector collectLatency() {
+        return INSTANCE;
+    }
+
+    public static Map<String, LatencyHistogram> snapshot() {
+        return new TreeMap<>(HISTOGRAMS);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (active.get()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Response response;
+        active.set(true);
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } finally {
+            active.set(false);
+        }
+        long micros = response.getTimeIn(TimeUnit.MICROSECONDS);
+        // Replayed and memoised responses never went over the wire and carry no time (-1)
+        if (micros >= 0) {
+            record(Endpoint.of(requestSpec), micros);
+        }
+        return response;
+    }
+
+    static void record(String endpoint, long micros) {
+        HISTOGRAMS.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record(micros, TimeUnit.MICROSECONDS);
+    }
+}
@@ -0,0 +1,57 @@
+package helpers;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the per-endpoint latency table after the test plan and writes it, plus any budget violations,
+ * to {@code -Dlatency.reportDir}. The Gradle test task fails the build when a violations file is present.
+ */
+public class LatencyReportListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Map<String, LatencyHistogram> histograms = LatencyCollector.snapshot();
+        if (histograms.isEmpty()) {
+            return;
+        }
+        LatencyBudgets budgets = LatencyBudgets.load();
+        String summary = summary(histograms, budgets);
+        List<String> violations = budgets.violations(histograms);
+        System.out.print(summary);
+        violations.forEach(violation -> System.out.println("LATENCY BUDGET EXCEEDED: " + violation));
+
+        Path reportDir = Path.of(System.getProperty("latency.reportDir", "build/latency"));
+        String fileName = "jvm-" + ProcessHandle.current().pid();
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(fileName + "-summary.txt"), summary);
+            if (!violations.isEmpty()) {
+                Files.write(reportDir.resolve(fileName + "-violations.txt"), violations);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write latency report", e);
+        }
+    }
+
+    static String summary(Map<String, LatencyHistogram> histograms, LatencyBudgets budgets) {
+        StringBuilder table = new StringBuilder();
+        String format = "%-24s %7s %9s %9s %9s %9s  %s%n";
+        table.append(String.format(format, "endpoint", "count", "p50 ms", "p95 ms", "p99 ms", "max ms", "budget"));
+        histograms.forEach((endpoint, histogram) -> table.append(String.format(format, endpoint,
+                histogram.count(),
+                String.format("%.1f", histogram.percentileMillis(50)),
+                String.format("%.1f", histogram.percentileMillis(95)),
+                String.format("%.1f", histogram.percentileMillis(99)),
+                String.format("%.1f", histogram.maxMillis()),
+                budgets.describe(endpoint))));
+        return table.toString();
+    }
+}
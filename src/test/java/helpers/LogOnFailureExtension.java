@@ -0,0 +1,35 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+
+/**
+ * Prints the exchanges buffered by {@link LogOnFailureFilter} when a test fails, and publishes them as the
+ * test's {@code exchanges} report entry. Registered for every test class through extension auto-detection.
+ */
+public class LogOnFailureExtension implements BeforeEachCallback, AfterEachCallback, TestExecutionExceptionHandler {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LogOnFailureExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("exchanges", LogOnFailureFilter.startTest());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        LogOnFailureFilter.endTest();
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        LogOnFailureFilter.Exchanges buffer = context.getStore(NAMESPACE).get("exchanges", LogOnFailureFilter.Exchanges.class);
+        String exchanges = buffer == null ? "" : buffer.dump();
+        if (!exchanges.isEmpty()) {
+            System.err.println("Last exchanges before " + context.getDisplayName() + " failed:\n" + exchanges);
+            context.publishReportEntry("exchanges", exchanges);
+        }
+        throw throwable;
+    }
+}
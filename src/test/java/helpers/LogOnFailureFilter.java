@@ -0,0 +1,89 @@
+package helpers;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps the last {@code -Dreqres.logBuffer} (default 10) exchanges of the running test instead of printing
+ * every request and response; {@link LogOnFailureExtension} prints them only when the test fails.
+ * <p>
+ * The buffer belongs to the test, not to a thread: threads the test starts (a crawler's executor) write into it
+ * too, and code completing requests on long-lived pools takes {@link #current()} on the test thread to hand it over.
+ * Exchanges are kept as text, so no request or response outlives the filter call.
+ */
+public class LogOnFailureFilter implements Filter {
+    private static final LogOnFailureFilter INSTANCE = new LogOnFailureFilter();
+    private static final int CAPACITY = Integer.getInteger("reqres.logBuffer", 10);
+    private static final InheritableThreadLocal<Exchanges> CURRENT = new InheritableThreadLocal<>();
+
+    public static LogOnFailureFilter logOnFailure() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        Exchanges exchanges = CURRENT.get();
+        if (exchanges != null) {
+            exchanges.add(render(requestSpec, response));
+        }
+        return response;
+    }
+
+    /**
+     * The running test's buffer, or {@code null} outside a test.
+     */
+    public static Exchanges current() {
+        return CURRENT.get();
+    }
+
+    // The calling thread, and every thread it starts from now on, log into a new buffer
+    static Exchanges startTest() {
+        Exchanges exchanges = new Exchanges();
+        CURRENT.set(exchanges);
+        return exchanges;
+    }
+
+    static void endTest() {
+        CURRENT.remove();
+    }
+
+    private static String render(FilterableRequestSpecification request, Response response) {
+        Prettifier prettifier = new Prettifier();
+        StringBuilder log = new StringBuilder()
+                .append("Request method:\t").append(request.getMethod()).append('\n')
+                .append("Request URI:\t").append(request.getURI()).append('\n');
+        if (request.getBody() != null) {
+            log.append("Body:\n").append(prettifier.getPrettifiedBodyIfPossible(request)).append('\n');
+        }
+        return log.append(response.getStatusLine()).append('\n')
+                .append(prettifier.getPrettifiedBodyIfPossible(response, response.getBody()))
+                .toString();
+    }
+
+    public static class Exchanges {
+        private final Deque<String> exchanges = new ArrayDeque<>();
+
+        public synchronized void add(String exchange) {
+            if (exchanges.size() == CAPACITY) {
+                exchanges.removeFirst();
+            }
+            exchanges.addLast(exchange);
+        }
+
+        public synchronized String dump() {
+            StringBuilder log = new StringBuilder();
+            exchanges.forEach(exchange -> log.append(exchange).append("\n\n"));
+            return log.toString();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package helpers;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in ({@code -Dreqres.memoizeGets=true}) per-run cache of GET responses.
+ * <p>
+ * The first caller for a URI and {@code Accept} header makes the call; concurrent identical calls wait for it
+ * and later ones reuse its result. Every caller gets its own {@link Response} built from the cached bytes.
+ * 5xx responses and failed calls are not kept, so the next caller tries again.
+ */
+public class MemoizingGetFilter implements OrderedFilter {
+    private static final MemoizingGetFilter INSTANCE = new MemoizingGetFilter(Boolean.getBoolean("reqres.memoizeGets"));
+
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<Snapshot>> responses = new ConcurrentHashMap<>();
+    // The filter can reach a request twice, from the global filters and from a spec; only the outer one acts
+    private final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+    MemoizingGetFilter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static MemoizingGetFilter memoizeGets() {
+        return INSTANCE;
+    }
+
+    // An enabled cache of its own, whatever the run's switch says
+    public static MemoizingGetFilter newCache() {
+        return new MemoizingGetFilter(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!enabled || active.get() || !requestSpec.getMethod().equalsIgnoreCase("GET")) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = requestSpec.getURI() + "\n" + requestSpec.getHeaders().getValue("Accept");
+        CompletableFuture<Snapshot> call = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = responses.putIfAbsent(key, call);
+        if (existing != null) {
+            try {
+                return existing.join().toResponse();
+            } catch (CompletionException e) {
+                // The owner failed; let this caller make its own attempt through the rest of the chain
+                return ctx.next(requestSpec, responseSpec);
+            }
+        }
+
+        active.set(true);
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (response.getStatusCode() >= 500) {
+                responses.remove(key, call);
+            }
+            call.complete(new Snapshot(response));
+            return response;
+        } catch (Throwable e) {
+            // RestAssured can throw checked I/O exceptions undeclared; waiters must be released whatever it is
+            responses.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            active.set(false);
+        }
+    }
+
+    // Behind the Allure filter, which orders itself ahead of this one, so every test still gets its own
+    // request/response attachments
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE;
+    }
+
+    private static class Snapshot {
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final String contentType;
+        final byte[] body;
+
+        Snapshot(Response response) {
+            this.statusCode = response.getStatusCode();
+            this.statusLine = response.getStatusLine();
+            this.headers = response.getHeaders();
+            this.contentType = response.getContentType();
+            this.body = response.asByteArray();
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setContentType(contentType == null ? "" : contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package helpers;
+
+import models.lombok.Color;
+import models.lombok.ColorsResponseModel;
+import models.lombok.User;
+import models.lombok.UsersListResponseModel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static io.restassured.RestAssured.given;
+import static specs.Specs.requestSpec;
+import static specs.Specs.responseWithCode200Spec;
+
+/**
+ * Reads {@code total_pages} from the first page of a listing, fetches the remaining pages concurrently with
+ * bounded parallelism and checks the pages agree with each other: same totals everywhere, no duplicate IDs
+ * and as many items as {@code total} announces.
+ */
+public class PageCrawler<P, T> {
+    private final IntFunction<P> fetchPage;
+    private final Function<P, List<T>> items;
+    private final Function<P, Integer> total;
+    private final Function<P, Integer> totalPages;
+    private final Function<T, Integer> id;
+    private final int parallelism;
+
+    private PageCrawler(IntFunction<P> fetchPage, Function<P, List<T>> items, Function<P, Integer> total,
+                        Function<P, Integer> totalPages, Function<T, Integer> id, int parallelism) {
+        this.fetchPage = fetchPage;
+        this.items = items;
+        this.total = total;
+        this.totalPages = totalPages;
+        this.id = id;
+        this.parallelism = parallelism;
+    }
+
+    public static PageCrawler<UsersListResponseModel, User> users(int perPage, int parallelism) {
+        return new PageCrawler<>(page -> fetch("users", page, perPage, UsersListResponseModel.class),
+                UsersListResponseModel::getData, UsersListResponseModel::getTotal,
+                UsersListResponseModel::getTotal_pages, User::getID, parallelism);
+    }
+
+    public static PageCrawler<ColorsResponseModel, Color> colors(int perPage, int parallelism) {
+        return new PageCrawler<>(page -> fetch("unknown", page, perPage, ColorsResponseModel.class),
+                ColorsResponseModel::getData, ColorsResponseModel::getTotal,
+                ColorsResponseModel::getTotal_pages, Color::getID, parallelism);
+    }
+
+    /**
+     * @return every item of the listing in page order
+     * @throws AssertionError when the pages are inconsistent
+     */
+    public List<T> crawl() {
+        P first = fetchPage.apply(1);
+        int pages = totalPages.apply(first);
+        int expectedTotal = total.apply(first);
+
+        List<P> all = new ArrayList<>(pages);
+        all.add(first);
+        if (pages > 1) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pages - 1));
+            try {
+                List<CompletableFuture<P>> rest = new ArrayList<>(pages - 1);
+                for (int page = 2; page <= pages; page++) {
+                    int number = page;
+                    rest.add(CompletableFuture.supplyAsync(() -> fetchPage.apply(number), executor));
+                }
+                for (CompletableFuture<P> future : rest) {
+                    all.add(future.join());
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<T> result = new ArrayList<>(expectedTotal);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            P page = all.get(i);
+            if (!total.apply(page).equals(expectedTotal) || !totalPages.apply(page).equals(pages)) {
+                throw new AssertionError("Page " + (i + 1) + " reports total=" + total.apply(page)
+                        + ", total_pages=" + totalPages.apply(page)
+                        + " but page 1 reported total=" + expectedTotal + ", total_pages=" + pages);
+            }
+            for (T item : items.apply(page)) {
+                if (!seen.add(id.apply(item))) {
+                    throw new AssertionError("Duplicate id " + id.apply(item) + " on page " + (i + 1));
+                }
+                result.add(item);
+            }
+        }
+        if (result.size() != expectedTotal) {
+            throw new AssertionError("Crawled " + result.size() + " items across " + pages
+                    + " pages but total is " + expectedTotal);
+        }
+        return result;
+    }
+
+    private static <P> P fetch(String resource, int page, int perPage, Class<P> model) {
+        return given(requestSpec)
+                .queryParam("page", page)
+                .queryParam("per_page", perPage)
+                .when()
+                .get(resource)
+                .then()
+                .spec(responseWithCode200Spec)
+                .extract().as(model);
+    }
+}
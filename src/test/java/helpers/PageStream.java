@@ -0,0 +1,57 @@
+package helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import models.lombok.Color;
+import models.lombok.ColorsResponseModel;
+import models.lombok.User;
+import models.lombok.UsersListResponseModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Reads a list response element by element: every entry of its {@code data} array is bound and handed to a
+ * callback as soon as it has been parsed, so only one element is alive at a time however large the page.
+ * Everything else in the response is bound to the page model, whose {@code data} stays {@code null}.
+ */
+public class PageStream {
+    public static UsersListResponseModel users(InputStream body, Consumer<? super User> each) {
+        return forEach(body, UsersListResponseModel.class, User.class, each);
+    }
+
+    public static ColorsResponseModel colors(InputStream body, Consumer<? super Color> each) {
+        return forEach(body, ColorsResponseModel.class, Color.class, each);
+    }
+
+    public static <P, T> P forEach(InputStream body, Class<P> pageType, Class<T> itemType,
+                                   Consumer<? super T> each) {
+        ObjectReader reader = ReqresObjectMapper.reader();
+        ObjectReader itemReader = ReqresObjectMapper.reader(itemType);
+        ObjectNode page = JsonNodeFactory.instance.objectNode();
+        try (InputStream in = body; JsonParser parser = reader.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object, got " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (name.equals("data") && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        each.accept(itemReader.readValue(parser));
+                    }
+                } else {
+                    page.set(name, reader.readTree(parser));
+                }
+            }
+            return ReqresObjectMapper.reader(pageType).readValue(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stream " + pageType.getSimpleName(), e);
+        }
+    }
+}
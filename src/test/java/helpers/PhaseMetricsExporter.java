@@ -0,0 +1,100 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import helpers.RequestPhaseMetrics.Phase;
+import helpers.RequestPhaseMetrics.Transfer;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the per-phase request timings and transferred bytes from {@link RequestPhaseMetrics} to
+ * {@code -Dmetrics.reportDir} as JSON and in the Prometheus text format, one pair of files per test JVM.
+ */
+public class PhaseMetricsExporter implements TestExecutionListener {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+    private static final String METRIC = "reqres_request_phase_seconds";
+    private static final String BYTES_METRIC = "reqres_request_bytes_total";
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Map<String, Map<Phase, LatencyHistogram>> phases = RequestPhaseMetrics.snapshot();
+        Map<String, Transfer> transfers = RequestPhaseMetrics.transfers();
+        if (phases.isEmpty() && transfers.isEmpty()) {
+            return;
+        }
+        Path reportDir = Path.of(System.getProperty("metrics.reportDir", "build/metrics"));
+        String fileName = "jvm-" + ProcessHandle.current().pid();
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(fileName + ".json"), json(phases, transfers));
+            Files.writeString(reportDir.resolve(fileName + ".prom"), prometheus(phases, transfers));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write request phase metrics", e);
+        }
+    }
+
+    public static String json(Map<String, Map<Phase, LatencyHistogram>> phases, Map<String, Transfer> transfers)
+            throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = mapper.createObjectNode();
+        phases.forEach((endpoint, byPhase) -> {
+            ObjectNode endpointNode = root.with(endpoint);
+            byPhase.forEach((phase, histogram) -> {
+                ObjectNode phaseNode = endpointNode.putObject(phase.name().toLowerCase(Locale.ROOT))
+                        .put("count", histogram.count())
+                        .put("mean_ms", histogram.meanMillis())
+                        .put("max_ms", histogram.maxMillis());
+                for (double quantile : QUANTILES) {
+                    phaseNode.put("p" + (int) Math.round(quantile * 100) + "_ms", histogram.percentileMillis(quantile * 100));
+                }
+            });
+        });
+        transfers.forEach((endpoint, transfer) -> root.with(endpoint).putObject("bytes")
+                .put("requests", transfer.requests())
+                .put("sent", transfer.sent())
+                .put("received", transfer.received())
+                .put("body", transfer.body()));
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+    }
+
+    public static String prometheus(Map<String, Map<Phase, LatencyHistogram>> phases, Map<String, Transfer> transfers) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP ").append(METRIC).append(" Time spent in each phase of a request to the API under test.\n");
+        out.append("# TYPE ").append(METRIC).append(" summary\n");
+        phases.forEach((endpoint, byPhase) -> byPhase.forEach((phase, histogram) -> {
+            String labels = "endpoint=\"" + escape(endpoint) + "\",phase=\"" + phase.name().toLowerCase(Locale.ROOT) + "\"";
+            for (double quantile : QUANTILES) {
+                out.append(METRIC).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.percentileMillis(quantile * 100))).append('\n');
+            }
+            out.append(METRIC).append("_sum{").append(labels).append("} ").append(seconds(histogram.sumMillis())).append('\n');
+            out.append(METRIC).append("_count{").append(labels).append("} ").append(histogram.count()).append('\n');
+        }));
+        out.append("# HELP ").append(BYTES_METRIC)
+                .append(" Bytes sent and received on the wire, and decoded response body bytes.\n");
+        out.append("# TYPE ").append(BYTES_METRIC).append(" counter\n");
+        transfers.forEach((endpoint, transfer) -> {
+            String labels = "endpoint=\"" + escape(endpoint) + "\",direction=\"";
+            out.append(BYTES_METRIC).append('{').append(labels).append("sent\"} ").append(transfer.sent()).append('\n');
+            out.append(BYTES_METRIC).append('{').append(labels).append("received\"} ").append(transfer.received()).append('\n');
+            out.append(BYTES_METRIC).append('{').append(labels).append("body\"} ").append(transfer.body()).append('\n');
+        });
+        return out.toString();
+    }
+
+    private static String seconds(double millis) {
+        return String.format(Locale.ROOT, "%.6f", millis / 1000);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,169 @@
+package helpers;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Captures request/response pairs to disk and serves them back on later runs.
+ * <p>
+ * {@code -Dreqres.recording=record} always calls the target and saves the exchange, {@code replay} serves only
+ * from disk and fails on a miss, {@code auto} replays what exists and records the rest; anything else is a
+ * pass-through. Recordings live in {@code -Dreqres.recordingsDir} (default {@code build/recordings}) and are
+ * keyed on method, path, query, content type and body, so they survive a change of host or port.
+ */
+public class RecordReplayFilter implements OrderedFilter {
+    private static final RecordReplayFilter INSTANCE = new RecordReplayFilter(
+            System.getProperty("reqres.recording", "off"),
+            Path.of(System.getProperty("reqres.recordingsDir", "build/recordings")));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // The body is saved decoded, so headers describing the wire encoding would not match it on replay
+    private static final Set<String> WIRE_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private final String mode;
+    private final Path directory;
+
+    RecordReplayFilter(String mode, Path directory) {
+        this.mode = mode;
+        this.directory = directory;
+    }
+
+    public static RecordReplayFilter recordReplay() {
+        return INSTANCE;
+    }
+
+    // A filter of its own in the given mode and directory, whatever the run's switches say
+    public static RecordReplayFilter recordReplay(String mode, Path directory) {
+        return new RecordReplayFilter(mode, directory);
+    }
+
+    // Nothing reaches the target in this mode
+    public boolean isReplayOnly() {
+        return mode.equals("replay");
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        boolean replay = mode.equals("replay") || mode.equals("auto");
+        boolean record = mode.equals("record") || mode.equals("auto");
+        if (!replay && !record) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        Path file = directory.resolve(key(requestSpec) + ".json");
+        if (replay && Files.exists(file)) {
+            return read(file);
+        }
+        if (!record) {
+            throw new IllegalStateException("No recording for " + requestSpec.getMethod() + " "
+                    + requestSpec.getURI() + " in " + directory + " (run with -Dreqres.recording=record first)");
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        write(file, requestSpec, response);
+        return response;
+    }
+
+    // Runs after the logging and Allure filters so they still see replayed exchanges
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE;
+    }
+
+    static String key(FilterableRequestSpecification requestSpec) {
+        URI uri = URI.create(requestSpec.getURI());
+        Object body = requestSpec.getBody();
+        String request = requestSpec.getMethod() + "\n"
+                + uri.getRawPath() + "\n"
+                + (uri.getRawQuery() == null ? "" : uri.getRawQuery()) + "\n"
+                + (requestSpec.getContentType() == null ? "" : requestSpec.getContentType()) + "\n"
+                + (body == null ? "" : body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : body);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Response read(Path file) {
+        try {
+            Recording recording = MAPPER.readValue(file.toFile(), Recording.class);
+            // The content type goes in through its own setter, which adds the header; a copy here would double it
+            List<Header> headers = new ArrayList<>();
+            recording.headers.forEach((name, values) -> {
+                if (!name.equalsIgnoreCase("Content-Type")) {
+                    values.forEach(value -> headers.add(new Header(name, value)));
+                }
+            });
+            return new ResponseBuilder()
+                    .setStatusCode(recording.statusCode)
+                    .setStatusLine(recording.statusLine)
+                    .setHeaders(new Headers(headers))
+                    .setContentType(recording.contentType == null ? "" : recording.contentType)
+                    .setBody(recording.body.getBytes(StandardCharsets.UTF_8))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read recording " + file, e);
+        }
+    }
+
+    private static void write(Path file, FilterableRequestSpecification requestSpec, Response response) {
+        Recording recording = new Recording();
+        recording.request = requestSpec.getMethod() + " " + URI.create(requestSpec.getURI()).getRawPath();
+        recording.statusCode = response.getStatusCode();
+        recording.statusLine = response.getStatusLine();
+        recording.contentType = response.getContentType();
+        response.getHeaders().forEach(header -> {
+            if (!WIRE_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                recording.headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+            }
+        });
+        recording.body = response.getBody().asString();
+        try {
+            Files.createDirectories(file.getParent());
+            // Write-then-rename so concurrent tests recording the same exchange never see a partial file
+            Path temp = Files.createTempFile(file.getParent(), "recording", ".tmp");
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), recording);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write recording " + file, e);
+        }
+    }
+
+    static class Recording {
+        public String request;
+        public int statusCode;
+        public String statusLine;
+        public String contentType;
+        // Recordings from before multi-valued headers hold a single string per name
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        public Map<String, List<String>> headers = new LinkedHashMap<>();
+        public String body = "";
+    }
+}
@@ -0,0 +1,41 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.restassured.path.json.mapper.factory.Jackson2ObjectMapperFactory;
+
+/**
+ * The one Jackson mapper of the suite. RestAssured's default factory builds a new ObjectMapper for every
+ * {@code extract().as(...)}, throwing away Jackson's deserialiser caches each time; this one is built once,
+ * configured like RestAssured's own and never handed out for reconfiguring: code outside RestAssured maps through
+ * its immutable {@link #reader(Class)} and {@link #writer()}.
+ */
+public class ReqresObjectMapper {
+    // Unknown properties fail like they do with RestAssured's mapper; models that expect extras opt out themselves
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .findAndAddModules()
+            .build();
+    private static final ObjectReader READER = MAPPER.reader();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+
+    public static ObjectReader reader() {
+        return READER;
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return READER.forType(type);
+    }
+
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    // RestAssured only takes a mapper; it uses it as is
+    public static Jackson2ObjectMapperFactory factory() {
+        return (type, charset) -> MAPPER;
+    }
+}
@@ -0,0 +1,347 @@
+package helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process stand-in for https://reqres.in serving the same payloads the tests assert on.
+ * Started lazily once per JVM on a free local port. Like the real site it gzip- or deflate-encodes responses
+ * when the client accepts it. Malformed JSON bodies and paging parameters that are not positive numbers get a 400.
+ */
+public class ReqresStandIn {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String TOKEN = "QpwL5tke4Pnpja7X4";
+    private static final String TIMESTAMP = "2023-06-15T10:00:00.000Z";
+    private static final int PER_PAGE = 6;
+    // Below this the encoding overhead outweighs the saving
+    private static final int MIN_COMPRESSED_LENGTH = 256;
+    private static final int HANDLER_THREADS = 32;
+
+    private static final String[][] USERS = {
+            {"george.bluth@reqres.in", "George", "Bluth"},
+            {"janet.weaver@reqres.in", "Janet", "Weaver"},
+            {"emma.wong@reqres.in", "Emma", "Wong"},
+            {"eve.holt@reqres.in", "Eve", "Holt"},
+            {"charles.morris@reqres.in", "Charles", "Morris"},
+            {"tracey.ramos@reqres.in", "Tracey", "Ramos"},
+            {"michael.lawson@reqres.in", "Michael", "Lawson"},
+            {"lindsay.ferguson@reqres.in", "Lindsay", "Ferguson"},
+            {"tobias.funke@reqres.in", "Tobias", "Funke"},
+            {"byron.fields@reqres.in", "Byron", "Fields"},
+            {"george.edwards@reqres.in", "George", "Edwards"},
+            {"rachel.howell@reqres.in", "Rachel", "Howell"}
+    };
+    private static final String[][] COLORS = {
+            {"cerulean", "2000", "#98B2D1", "15-4020"},
+            {"fuchsia rose", "2001", "#C74375", "17-2031"},
+            {"true red", "2002", "#BF1932", "19-1664"},
+            {"aqua sky", "2003", "#7BC4C4", "14-4811"},
+            {"tigerlily", "2004", "#E2583E", "17-1456"},
+            {"blue turquoise", "2005", "#53B0AE", "15-5217"},
+            {"sand dollar", "2006", "#DECDBE", "13-1106"},
+            {"chili pepper", "2007", "#9B1B30", "19-1557"},
+            {"blue iris", "2008", "#5A5B9F", "18-3943"},
+            {"mimosa", "2009", "#F0C05A", "14-0848"},
+            {"turquoise", "2010", "#45B5AA", "15-5519"},
+            {"honeysuckle", "2011", "#D94F70", "18-2120"}
+    };
+    private static final Map<String, Integer> REGISTERED = Map.of("eve.holt@reqres.in", 4);
+
+    private final HttpServer server;
+
+    private ReqresStandIn() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start Reqres stand-in", e);
+        }
+        server.createContext("/api/", this::handle);
+        // A fixed pool, so a long run's thread count reflects the client rather than how bursty its calls were
+        server.setExecutor(Executors.newFixedThreadPool(HANDLER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "reqres-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    private static class Holder {
+        private static final ReqresStandIn INSTANCE = new ReqresStandIn();
+    }
+
+    public static ReqresStandIn instance() {
+        return Holder.INSTANCE;
+    }
+
+    public String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (JsonProcessingException e) {
+                sendError(exchange, "Malformed JSON body");
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, e.getMessage());
+            }
+        }
+    }
+
+    // Bad JSON and bad paging parameters surface as exceptions before anything has been sent; handle() answers 400
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = query(exchange.getRequestURI());
+        String resource = path[0];
+        String id = path.length > 1 ? path[1] : null;
+
+        if (resource.equals("login") && method.equals("POST")) {
+            login(exchange);
+        } else if (resource.equals("register") && method.equals("POST")) {
+            register(exchange);
+        } else if (resource.equals("users") || resource.equals("unknown")) {
+            boolean users = resource.equals("users");
+            switch (method) {
+                case "GET":
+                    if (id == null) {
+                        send(exchange, 200, page(users, query));
+                    } else {
+                        ObjectNode single = single(users, id);
+                        send(exchange, single == null ? 404 : 200, single == null ? MAPPER.createObjectNode() : single);
+                    }
+                    break;
+                case "POST":
+                    ObjectNode created = echo(exchange);
+                    created.put("id", "123");
+                    created.put("createdAt", TIMESTAMP);
+                    send(exchange, 201, created);
+                    break;
+                case "PUT":
+                case "PATCH":
+                    ObjectNode updated = echo(exchange);
+                    updated.put("updatedAt", TIMESTAMP);
+                    send(exchange, 200, updated);
+                    break;
+                case "DELETE":
+                    exchange.sendResponseHeaders(204, -1);
+                    break;
+                default:
+                    send(exchange, 405, MAPPER.createObjectNode());
+            }
+        } else {
+            send(exchange, 404, MAPPER.createObjectNode());
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonNode credentials = credentials(exchange);
+        if (credentials == null) {
+            return;
+        }
+        String email = credentials.path("email").asText("");
+        if (email.isEmpty()) {
+            sendError(exchange, "Missing email or username");
+        } else if (credentials.path("password").asText("").isEmpty()) {
+            sendError(exchange, "Missing password");
+        } else if (!REGISTERED.containsKey(email)) {
+            sendError(exchange, "user not found");
+        } else {
+            send(exchange, 200, MAPPER.createObjectNode().put("token", TOKEN));
+        }
+    }
+
+    private void register(HttpExchange exchange) throws IOException {
+        JsonNode credentials = credentials(exchange);
+        if (credentials == null) {
+            return;
+        }
+        String email = credentials.path("email").asText("");
+        if (email.isEmpty()) {
+            sendError(exchange, "Missing email or username");
+        } else if (credentials.path("password").asText("").isEmpty()) {
+            sendError(exchange, "Missing password");
+        } else if (!REGISTERED.containsKey(email)) {
+            sendError(exchange, "Note: Only defined users succeed registration");
+        } else {
+            send(exchange, 200, MAPPER.createObjectNode().put("id", REGISTERED.get(email)).put("token", TOKEN));
+        }
+    }
+
+    // Mirrors reqres.in: an empty body is rejected with 415, a non-JSON body reads as no credentials at all
+    private JsonNode credentials(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        if (body.length == 0) {
+            send(exchange, 415, MAPPER.createObjectNode());
+            return null;
+        }
+        if (!isJson(exchange)) {
+            return MAPPER.createObjectNode();
+        }
+        return MAPPER.readTree(body);
+    }
+
+    private ObjectNode echo(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        JsonNode node = body.length == 0 ? null : MAPPER.readTree(body);
+        return node instanceof ObjectNode ? (ObjectNode) node : MAPPER.createObjectNode();
+    }
+
+    private ObjectNode page(boolean users, Map<String, String> query) {
+        int total = users ? USERS.length : COLORS.length;
+        int perPage = positive(query, "per_page", PER_PAGE);
+        int page = positive(query, "page", 1);
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("page", page)
+                .put("per_page", perPage)
+                .put("total", total)
+                .put("total_pages", (total + perPage - 1) / perPage);
+        ArrayNode data = response.putArray("data");
+        // In longs: a large page times a large per_page would overflow and wrap around into the data
+        long first = (page - 1L) * perPage + 1;
+        for (long id = first; id <= Math.min((long) page * perPage, total); id++) {
+            data.add(users ? user((int) id) : color((int) id));
+        }
+        response.set("support", support());
+        return response;
+    }
+
+    private static int positive(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, like a number out of range
+        }
+        throw new IllegalArgumentException(name + " must be a positive number, was '" + value + "'");
+    }
+
+    private ObjectNode single(boolean users, String id) {
+        int number;
+        try {
+            number = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (number < 1 || number > (users ? USERS.length : COLORS.length)) {
+            return null;
+        }
+        ObjectNode response = MAPPER.createObjectNode();
+        response.set("data", users ? user(number) : color(number));
+        response.set("support", support());
+        return response;
+    }
+
+    private static ObjectNode user(int id) {
+        String[] user = USERS[id - 1];
+        return MAPPER.createObjectNode()
+                .put("id", id)
+                .put("email", user[0])
+                .put("first_name", user[1])
+                .put("last_name", user[2])
+                .put("avatar", "https://reqres.in/img/faces/" + id + "-image.jpg");
+    }
+
+    private static ObjectNode color(int id) {
+        String[] color = COLORS[id - 1];
+        return MAPPER.createObjectNode()
+                .put("id", id)
+                .put("name", color[0])
+                .put("year", Integer.parseInt(color[1]))
+                .put("color", color[2])
+                .put("pantone_value", color[3]);
+    }
+
+    private static ObjectNode support() {
+        return MAPPER.createObjectNode()
+                .put("url", "https://reqres.in/#support-heading")
+                .put("text", "To keep ReqRes free, contributions towards server costs are appreciated!");
+    }
+
+    private static boolean isJson(HttpExchange exchange) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return contentType != null && contentType.toLowerCase().contains("json");
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                String[] keyValue = pair.split("=", 2);
+                query.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+            }
+        }
+        return query;
+    }
+
+    private static String encoding(HttpExchange exchange, int length) {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accepted == null || length < MIN_COMPRESSED_LENGTH) {
+            return null;
+        }
+        accepted = accepted.toLowerCase();
+        return accepted.contains("gzip") ? "gzip" : accepted.contains("deflate") ? "deflate" : null;
+    }
+
+    private static byte[] compress(byte[] bytes, String encoding) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (OutputStream out = encoding.equals("gzip")
+                ? new GZIPOutputStream(compressed)
+                : new DeflaterOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void sendError(HttpExchange exchange, String error) throws IOException {
+        send(exchange, 400, MAPPER.createObjectNode().put("error", error));
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        String encoding = encoding(exchange, bytes.length);
+        if (encoding != null) {
+            bytes = compress(bytes, encoding);
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
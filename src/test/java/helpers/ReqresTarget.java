@@ -0,0 +1,29 @@
+package helpers;
+
+/**
+ * Resolves the Reqres base URI for the run.
+ * {@code -Dreqres.baseUri=...} points the suite at any host, {@code -Dreqres.standin=true} at {@link ReqresStandIn};
+ * with {@code -Dreqres.faults=...} requests go through a {@link FaultProxy} in front of either.
+ */
+public class ReqresTarget {
+    public static final String REMOTE_BASE_URI = "https://reqres.in";
+
+    public static String baseUri() {
+        String faults = System.getProperty("reqres.faults");
+        if (faults != null && !faults.isBlank()) {
+            return FaultProxy.instance().baseUri();
+        }
+        return upstreamBaseUri();
+    }
+
+    static String upstreamBaseUri() {
+        String baseUri = System.getProperty("reqres.baseUri");
+        if (baseUri != null && !baseUri.isBlank()) {
+            return baseUri;
+        }
+        if (Boolean.getBoolean("reqres.standin")) {
+            return ReqresStandIn.instance().baseUri();
+        }
+        return REMOTE_BASE_URI;
+    }
+}
@@ -0,0 +1,513 @@
+package helpers;
+
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.client.protocol.RequestAcceptEncoding;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.http.util.EntityUtils;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Splits each call into DNS, connect, TLS handshake, time to first byte, body download and deserialisation,
+ * and aggregates every phase per endpoint for {@link PhaseMetricsExporter}.
+ * <p>
+ * The network phases need the instrumented HTTP client from {@link #config()}, deserialisation needs its
+ * object mapper; the filter ties both to the request running on the current thread. The same client counts the
+ * bytes each request puts on and takes off the wire (after TLS, before decompression) next to the decoded body size.
+ * <p>
+ * Each thread gets one client and keeps its connections: RestAssured reconfigures the client on every request,
+ * so it cannot be shared across threads. The body is counted as the caller reads it; a body left unread is
+ * released, and its request recorded, when the thread makes its next request.
+ */
+public class RequestPhaseMetrics implements Filter {
+    public enum Phase { DNS, CONNECT, TLS, TTFB, DOWNLOAD, DESERIALIZE }
+
+    private static final RequestPhaseMetrics INSTANCE = new RequestPhaseMetrics();
+    private static final Map<String, Map<Phase, LatencyHistogram>> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, Transfer> TRANSFERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<HttpClient> CLIENTS = ThreadLocal.withInitial(RequestPhaseMetrics::httpClient);
+    // The thread's latest request; it stays current after the filter returns, while its body is still being read
+    private static final ThreadLocal<Timing> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> LAST_ENDPOINT = new ThreadLocal<>();
+    private static final ThreadLocal<Transfer> LAST_TRANSFER = new ThreadLocal<>();
+
+    public static RequestPhaseMetrics recordPhases() {
+        return INSTANCE;
+    }
+
+    /**
+     * {@link RestAssured#config()} as it stands, with the instrumented client and the timed object mapper.
+     */
+    public static RestAssuredConfig config() {
+        return config(RestAssured.config());
+    }
+
+    // The client decodes gzip and deflate itself so the decoded body can be counted; RestAssured must not do it again
+    public static RestAssuredConfig config(RestAssuredConfig base) {
+        return base
+                .httpClient(base.getHttpClientConfig().httpClientFactory(CLIENTS::get))
+                .decoderConfig(base.getDecoderConfig().noContentDecoders())
+                .objectMapperConfig(base.getObjectMapperConfig()
+                        .defaultObjectMapper(new TimedObjectMapper(ReqresObjectMapper.factory())));
+    }
+
+    public static Map<String, Map<Phase, LatencyHistogram>> snapshot() {
+        Map<String, Map<Phase, LatencyHistogram>> snapshot = new TreeMap<>();
+        HISTOGRAMS.forEach((endpoint, phases) -> snapshot.put(endpoint, new EnumMap<>(phases)));
+        return snapshot;
+    }
+
+    public static Map<String, Transfer> transfers() {
+        return new TreeMap<>(TRANSFERS);
+    }
+
+    /**
+     * Bytes of the last instrumented request made on this thread; empty counts before the first one.
+     */
+    public static Transfer lastTransfer() {
+        Transfer last = LAST_TRANSFER.get();
+        return last == null ? new Transfer() : last;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = Endpoint.of(requestSpec);
+        Timing previous = CURRENT.get();
+        if (previous != null) {
+            previous.release();
+        }
+        Timing timing = new Timing(endpoint);
+        CURRENT.set(timing);
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            // No body to wait for (or no instrumented client): the request is complete now
+            if (timing.entity == null) {
+                timing.finish();
+            }
+            return response;
+        } finally {
+            LAST_ENDPOINT.set(endpoint);
+        }
+    }
+
+    // Deserialisation happens in extract().as(...), after the filter chain; it belongs to the thread's last call
+    static void recordDeserialization(long nanos) {
+        String endpoint = LAST_ENDPOINT.get();
+        if (endpoint != null) {
+            record(endpoint, Phase.DESERIALIZE, nanos);
+        }
+    }
+
+    static void recordTransfer(String endpoint, long sent, long received, long body) {
+        Transfer request = new Transfer();
+        request.add(sent, received, body);
+        LAST_TRANSFER.set(request);
+        TRANSFERS.computeIfAbsent(endpoint, key -> new Transfer()).add(sent, received, body);
+    }
+
+    private static void record(String endpoint, Phase phase, long nanos) {
+        HISTOGRAMS.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(phase, key -> new LatencyHistogram())
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static HttpClient httpClient() {
+        HttpClient client = LegacyClient.create(new TimedPlainSocketFactory(), new TimedSslSocketFactory(),
+                new TimedDnsResolver());
+        LegacyClient.addRequestInterceptor(client, new RequestAcceptEncoding());
+        LegacyClient.addRequestInterceptor(client,
+                (request, context) -> mark(timing -> timing.requestSent = System.nanoTime()));
+        LegacyClient.addResponseInterceptor(client, (response, context) -> {
+            Timing timing = CURRENT.get();
+            if (timing == null) {
+                return;
+            }
+            timing.firstByte = System.nanoTime();
+            if (response.getEntity() != null) {
+                timing.entity = new CountedEntity(decoded(response.getEntity()), timing);
+                response.setEntity(timing.entity);
+            }
+        });
+        return client;
+    }
+
+    // Headers stay as they came, Content-Encoding included, so tests still see what was on the wire
+    private static HttpEntity decoded(HttpEntity entity) {
+        String encoding = entity.getContentEncoding() == null ? ""
+                : entity.getContentEncoding().getValue().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "gzip": case "x-gzip": return new GzipDecompressingEntity(entity);
+            case "deflate": return new DeflateDecompressingEntity(entity);
+            default: return entity;
+        }
+    }
+
+    private static void mark(java.util.function.Consumer<Timing> update) {
+        Timing timing = CURRENT.get();
+        if (timing != null) {
+            update.accept(timing);
+        }
+    }
+
+    private static class Timing {
+        final String endpoint;
+        final Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+        long requestSent;
+        long firstByte;
+        long sent;
+        long received;
+        long bodyBytes;
+        HttpEntity entity;
+        InputStream body;
+        boolean finished;
+
+        Timing(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void add(Phase phase, long nanos) {
+            durations.merge(phase, nanos, Long::sum);
+        }
+
+        // Download ends when the body has been read to the end or closed, whichever the caller does first
+        void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            // Served without the instrumented client (another config, a memoised or replayed response)
+            if (requestSent == 0) {
+                return;
+            }
+            if (firstByte != 0) {
+                add(Phase.TTFB, firstByte - requestSent);
+                add(Phase.DOWNLOAD, System.nanoTime() - firstByte);
+            }
+            durations.forEach((phase, nanos) -> RequestPhaseMetrics.record(endpoint, phase, nanos));
+            recordTransfer(endpoint, sent, received, bodyBytes);
+        }
+
+        // Closing drains what is left of the body, which hands the connection back to the pool
+        void release() {
+            try {
+                if (body != null) {
+                    body.close();
+                } else if (entity != null) {
+                    EntityUtils.consume(entity);
+                }
+            } catch (IOException e) {
+                // The connection is discarded instead of reused; nothing else depends on it
+            }
+            finish();
+        }
+    }
+
+    private static class CountedEntity extends HttpEntityWrapper {
+        private final Timing timing;
+
+        CountedEntity(HttpEntity entity, Timing timing) {
+            super(entity);
+            this.timing = timing;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            timing.body = new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int read = super.read();
+                    if (read >= 0) {
+                        timing.bodyBytes++;
+                    } else {
+                        timing.finish();
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        timing.bodyBytes += read;
+                    } else if (read < 0) {
+                        timing.finish();
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        timing.finish();
+                    }
+                }
+            };
+            return timing.body;
+        }
+    }
+
+    private static class TimedDnsResolver implements DnsResolver {
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                mark(timing -> timing.add(Phase.DNS, elapsed));
+            }
+        }
+    }
+
+    private static class TimedSocket extends Socket {
+        private InputStream in;
+        private OutputStream out;
+
+        @Override
+        public void connect(SocketAddress endpoint, int timeout) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.connect(endpoint, timeout);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                mark(timing -> timing.add(Phase.CONNECT, elapsed));
+            }
+        }
+
+        // A pooled connection serves whichever thread leases it, so bytes go to that thread's current request
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (in == null) {
+                in = new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public int read() throws IOException {
+                        int read = super.read();
+                        if (read >= 0) {
+                            RequestPhaseMetrics.mark(timing -> timing.received++);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            RequestPhaseMetrics.mark(timing -> timing.received += read);
+                        }
+                        return read;
+                    }
+                };
+            }
+            return in;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                out = new FilterOutputStream(super.getOutputStream()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        super.out.write(b);
+                        mark(timing -> timing.sent++);
+                    }
+
+                    @Override
+                    public void write(byte[] buffer, int offset, int length) throws IOException {
+                        super.out.write(buffer, offset, length);
+                        mark(timing -> timing.sent += length);
+                    }
+                };
+            }
+            return out;
+        }
+    }
+
+    private static class TimedPlainSocketFactory extends PlainConnectionSocketFactory {
+        @Override
+        public Socket createSocket(HttpContext context) {
+            return new TimedSocket();
+        }
+    }
+
+    // connectSocket covers TCP connect plus handshake; the TCP part is timed by TimedSocket and subtracted
+    private static class TimedSslSocketFactory extends SSLConnectionSocketFactory {
+        TimedSslSocketFactory() {
+            super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) {
+            return new TimedSocket();
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            Timing timing = CURRENT.get();
+            long connectBefore = timing == null ? 0 : timing.durations.getOrDefault(Phase.CONNECT, 0L);
+            long start = System.nanoTime();
+            Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            if (timing != null) {
+                long connect = timing.durations.getOrDefault(Phase.CONNECT, 0L) - connectBefore;
+                timing.add(Phase.TLS, System.nanoTime() - start - connect);
+            }
+            return connected;
+        }
+    }
+
+    /**
+     * RestAssured 5 only drives an {@code AbstractHttpClient}, and that class, its implementations and the
+     * connection manager API it takes are all deprecated in HttpClient 4.5. This is the one place touching them:
+     * sockets come from the current {@link ConnectionSocketFactory} API behind an adapter.
+     */
+    @SuppressWarnings("deprecation")
+    private static class LegacyClient {
+        static HttpClient create(ConnectionSocketFactory plain, LayeredConnectionSocketFactory tls,
+                                 DnsResolver dns) {
+            SchemeRegistry schemes = new SchemeRegistry();
+            schemes.register(new Scheme("http", 80, new SchemeSockets(plain)));
+            schemes.register(new Scheme("https", 443, new LayeredSchemeSockets(tls)));
+            DefaultHttpClient client = new DefaultHttpClient(new PoolingClientConnectionManager(schemes, dns));
+            // A body nobody reads keeps its connection leased; fail instead of waiting for one forever
+            client.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, TimeUnit.SECONDS.toMillis(30));
+            return client;
+        }
+
+        static void addRequestInterceptor(HttpClient client, HttpRequestInterceptor interceptor) {
+            ((DefaultHttpClient) client).addRequestInterceptor(interceptor);
+        }
+
+        static void addResponseInterceptor(HttpClient client, HttpResponseInterceptor interceptor) {
+            ((DefaultHttpClient) client).addResponseInterceptor(interceptor);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static class SchemeSockets implements SchemeSocketFactory {
+        final ConnectionSocketFactory sockets;
+
+        SchemeSockets(ConnectionSocketFactory sockets) {
+            this.sockets = sockets;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return sockets.createSocket(new BasicHttpContext());
+        }
+
+        // The old connection operator passes the target host inside the address; TLS needs it for SNI and verification
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            HttpHost host = remoteAddress instanceof HttpInetSocketAddress
+                    ? ((HttpInetSocketAddress) remoteAddress).getHttpHost()
+                    : new HttpHost(remoteAddress.getHostString(), remoteAddress.getPort());
+            return sockets.connectSocket(HttpConnectionParams.getConnectionTimeout(params), socket, host,
+                    remoteAddress, localAddress, new BasicHttpContext());
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return sockets instanceof LayeredConnectionSocketFactory;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static class LayeredSchemeSockets extends SchemeSockets implements SchemeLayeredSocketFactory {
+        LayeredSchemeSockets(LayeredConnectionSocketFactory sockets) {
+            super(sockets);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params)
+                throws IOException {
+            return ((LayeredConnectionSocketFactory) sockets).createLayeredSocket(socket, target, port,
+                    new BasicHttpContext());
+        }
+    }
+
+    /**
+     * Request and response bytes as they crossed the socket, and the decoded response body they amounted to.
+     */
+    public static class Transfer {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder received = new LongAdder();
+        private final LongAdder body = new LongAdder();
+
+        public void add(long sentBytes, long receivedBytes, long bodyBytes) {
+            requests.increment();
+            sent.add(sentBytes);
+            received.add(receivedBytes);
+            body.add(bodyBytes);
+        }
+
+        public long requests() {
+            return requests.sum();
+        }
+
+        public long sent() {
+            return sent.sum();
+        }
+
+        public long received() {
+            return received.sum();
+        }
+
+        public long body() {
+            return body.sum();
+        }
+    }
+}
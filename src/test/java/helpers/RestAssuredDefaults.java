@@ -0,0 +1,36 @@
+package helpers;
+
+import io.restassured.RestAssured;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import static helpers.LatencyCollector.collectLatency;
+import static helpers.MemoizingGetFilter.memoizeGets;
+import static io.restassured.config.ObjectMapperConfig.objectMapperConfig;
+
+/**
+ * The run-wide RestAssured defaults: target, base path, shared object mapper and the filters every request goes
+ * through, spec-based or not. Installed when the launcher session opens, before any test class is even discovered,
+ * so every test thread reads the same, finished configuration.
+ */
+public class RestAssuredDefaults implements LauncherSessionListener {
+    private static boolean installed;
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        install();
+    }
+
+    // A launcher may open several sessions in one JVM; the global filter list must not grow with each
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        RestAssured.baseURI = ReqresTarget.baseUri();
+        RestAssured.basePath = "/api/";
+        RestAssured.filters(memoizeGets(), collectLatency());
+        RestAssured.config = RestAssured.config().objectMapperConfig(
+                objectMapperConfig().jackson2ObjectMapperFactory(ReqresObjectMapper.factory()));
+    }
+}
@@ -0,0 +1,127 @@
+package helpers;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Retries idempotent requests (GET, PUT, DELETE, HEAD, OPTIONS) that hit a 5xx or an I/O error, with full-jitter
+ * exponential backoff, and stops calling a host altogether once its {@link CircuitBreaker} opens.
+ * <p>
+ * Attempts {@code -Dreqres.retry.attempts} (default 3), backoff {@code -Dreqres.retry.baseDelay} doubling up to
+ * {@code -Dreqres.retry.maxDelay} ms (defaults 200 and 2000). The circuit opens after
+ * {@code -Dreqres.circuit.failures} consecutive failed calls (default 5) for {@code -Dreqres.circuit.openMillis}
+ * (default 30000); POST and PATCH are never retried but still count towards it.
+ */
+public class RetryFilter implements OrderedFilter {
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "PUT", "DELETE", "HEAD", "OPTIONS");
+    private static final RetryFilter INSTANCE = new RetryFilter(
+            Integer.getInteger("reqres.retry.attempts", 3),
+            Duration.ofMillis(Long.getLong("reqres.retry.baseDelay", 200)),
+            Duration.ofMillis(Long.getLong("reqres.retry.maxDelay", 2000)),
+            Integer.getInteger("reqres.circuit.failures", 5),
+            Duration.ofMillis(Long.getLong("reqres.circuit.openMillis", 30_000)));
+
+    private final int attempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int failureThreshold;
+    private final Duration openFor;
+    private final Map<String, CircuitBreaker> circuits = new ConcurrentHashMap<>();
+
+    RetryFilter(int attempts, Duration baseDelay, Duration maxDelay, int failureThreshold, Duration openFor) {
+        this.attempts = Math.max(1, attempts);
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.failureThreshold = failureThreshold;
+        this.openFor = openFor;
+    }
+
+    public static RetryFilter retryTransientFailures() {
+        return INSTANCE;
+    }
+
+    // A filter with circuits of its own, whatever the run's switches say
+    public static RetryFilter retryTransientFailures(int attempts, Duration baseDelay, Duration maxDelay,
+                                                     int failureThreshold, Duration openFor) {
+        return new RetryFilter(attempts, baseDelay, maxDelay, failureThreshold, openFor);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        URI uri = URI.create(requestSpec.getURI());
+        CircuitBreaker circuit = circuits.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(),
+                host -> new CircuitBreaker(host, failureThreshold, openFor));
+        int maxAttempts = IDEMPOTENT.contains(requestSpec.getMethod().toUpperCase()) ? attempts : 1;
+
+        for (int attempt = 1; ; attempt++) {
+            circuit.checkClosed();
+            Response response;
+            try {
+                response = attempt == 1 ? ctx.next(requestSpec, responseSpec) : resend(requestSpec, ctx);
+            } catch (Exception e) {
+                circuit.recordFailure();
+                if (!isIoFailure(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                backOff(attempt);
+                continue;
+            }
+            if (response.getStatusCode() < 500) {
+                circuit.recordSuccess();
+                return response;
+            }
+            circuit.recordFailure();
+            if (attempt >= maxAttempts) {
+                return response;
+            }
+            backOff(attempt);
+        }
+    }
+
+    // Runs last so that a re-sent request, which bypasses the filter chain, skips no other filter's work
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE;
+    }
+
+    // FilterContext hands out the remaining filters only once; a retry re-sends the finished request spec directly
+    private static Response resend(FilterableRequestSpecification requestSpec, FilterContext ctx) {
+        return ctx.send(given().spec(requestSpec).noFilters());
+    }
+
+    // "Full jitter": a random delay up to the capped exponential step, so parallel tests do not retry in lockstep
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+
+    // RestAssured rethrows checked I/O exceptions from the HTTP client without wrapping them
+    private static boolean isIoFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package helpers;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Takes a {@link SelenoidThrottle} permit for each test, for classes that open a browser on the shared grid:
+ * {@code @ExtendWith(SelenoidCapacityExtension.class)}, or {@code @RegisterExtension} with a throttle of its own.
+ */
+public class SelenoidCapacityExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SelenoidCapacityExtension.class);
+
+    private final SelenoidThrottle throttle;
+
+    public SelenoidCapacityExtension() {
+        this(SelenoidThrottle.throttle());
+    }
+
+    public SelenoidCapacityExtension(SelenoidThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws InterruptedException {
+        context.getStore(NAMESPACE).put("permit", throttle.acquire());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SelenoidThrottle.Permit permit = context.getStore(NAMESPACE).remove("permit", SelenoidThrottle.Permit.class);
+        if (permit != null) {
+            permit.close();
+        }
+    }
+}
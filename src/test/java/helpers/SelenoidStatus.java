@@ -0,0 +1,122 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import models.lombok.SelenoidStatusModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Shares one {@code /status} snapshot of the Selenoid grid between all tests in the JVM.
+ * <p>
+ * The snapshot is refetched only once it is older than {@code -Dselenoid.status.ttl} milliseconds
+ * (default 2000); concurrent callers that find it stale wait for the single refresh instead of polling themselves.
+ * The grid is {@code -Dselenoid.baseUri} (default https://selenoid.autotests.cloud).
+ */
+public class SelenoidStatus {
+    private static final SelenoidStatus INSTANCE = new SelenoidStatus(
+            System.getProperty("selenoid.baseUri", "https://selenoid.autotests.cloud"),
+            Duration.ofMillis(Long.getLong("selenoid.status.ttl", 2000)));
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUri;
+    private final String statusUrl;
+    private final long ttlNanos;
+    private volatile Snapshot snapshot;
+
+    SelenoidStatus(String baseUri, Duration ttl) {
+        this.baseUri = baseUri;
+        this.statusUrl = baseUri + "/status";
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public static SelenoidStatus selenoid() {
+        return INSTANCE;
+    }
+
+    public static SelenoidStatus selenoid(String baseUri, Duration ttl) {
+        return new SelenoidStatus(baseUri, ttl);
+    }
+
+    /**
+     * Where browser tests open their remote sessions on this grid.
+     */
+    public String webDriverUrl() {
+        return baseUri + "/wd/hub";
+    }
+
+    /**
+     * The cached status as a fresh {@link Response}, so every caller can run its own {@code then()} assertions.
+     */
+    public Response status() {
+        return snapshot().toResponse();
+    }
+
+    public SelenoidStatusModel model() {
+        return snapshot().model;
+    }
+
+    Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isOlderThan(ttlNanos)) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null || snapshot.isOlderThan(ttlNanos)) {
+                snapshot = fetch();
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot fetch() {
+        Response response = given().filter(RetryFilter.retryTransientFailures()).get(statusUrl);
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException("Selenoid status " + statusUrl + " returned " + response.getStatusLine());
+        }
+        byte[] body = response.asByteArray();
+        try {
+            return new Snapshot(response.getStatusLine(), response.getHeaders(), response.getContentType(), body,
+                    MAPPER.readValue(body, SelenoidStatusModel.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse Selenoid status from " + statusUrl, e);
+        }
+    }
+
+    static class Snapshot {
+        final long fetchedAt = System.nanoTime();
+        final String statusLine;
+        final Headers headers;
+        final String contentType;
+        final byte[] body;
+        final SelenoidStatusModel model;
+
+        Snapshot(String statusLine, Headers headers, String contentType, byte[] body, SelenoidStatusModel model) {
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.contentType = contentType;
+            this.body = body;
+            this.model = model;
+        }
+
+        boolean isOlderThan(long nanos) {
+            return System.nanoTime() - fetchedAt > nanos;
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(200)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package helpers;
+
+import models.lombok.SelenoidStatusModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back new browser sessions while the shared Selenoid grid is close to full.
+ * <p>
+ * A session is let through when {@code used + queued}, plus the sessions this JVM started after the current
+ * status snapshot was taken, stays below {@code total - headroom}. Otherwise the caller waits for a session to
+ * be released or for the next snapshot. Headroom is {@code -Dselenoid.headroom} (default 1), the longest wait
+ * {@code -Dselenoid.throttle.timeout} seconds (default 300).
+ */
+public class SelenoidThrottle {
+    private static final SelenoidThrottle INSTANCE = new SelenoidThrottle(SelenoidStatus.selenoid(),
+            Integer.getInteger("selenoid.headroom", 1),
+            Duration.ofSeconds(Long.getLong("selenoid.throttle.timeout", 300)));
+    private static final long POLL_MILLIS = 500;
+
+    private final SelenoidStatus status;
+    private final int headroom;
+    private final Duration timeout;
+    private final List<Long> activeSince = new ArrayList<>();
+
+    SelenoidThrottle(SelenoidStatus status, int headroom, Duration timeout) {
+        this.status = status;
+        this.headroom = headroom;
+        this.timeout = timeout;
+    }
+
+    public static SelenoidThrottle throttle() {
+        return INSTANCE;
+    }
+
+    public static SelenoidThrottle throttle(SelenoidStatus status, int headroom, Duration timeout) {
+        return new SelenoidThrottle(status, headroom, timeout);
+    }
+
+    /**
+     * Blocks until the grid has room for one more session; close the returned permit when the session ends.
+     */
+    public Permit acquire() throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            // Outside the lock: the status call may block on the network, and releases must not wait for it
+            SelenoidStatus.Snapshot snapshot = status.snapshot();
+            synchronized (this) {
+                if (hasRoom(snapshot)) {
+                    long startedAt = System.nanoTime();
+                    activeSince.add(startedAt);
+                    return () -> release(startedAt);
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    SelenoidStatusModel grid = snapshot.model;
+                    throw new IllegalStateException("Selenoid grid stayed full for " + timeout.toSeconds() + "s: used "
+                            + grid.getUsed() + ", queued " + grid.getQueued() + " of " + grid.getTotal());
+                }
+                wait(Math.min(POLL_MILLIS, Math.max(1, remaining / 1_000_000)));
+            }
+        }
+    }
+
+    private boolean hasRoom(SelenoidStatus.Snapshot snapshot) {
+        SelenoidStatusModel grid = snapshot.model;
+        // Sessions started before the snapshot are already counted in "used"
+        long unseen = activeSince.stream().filter(startedAt -> startedAt - snapshot.fetchedAt > 0).count();
+        return value(grid.getUsed()) + value(grid.getQueued()) + unseen < value(grid.getTotal()) - headroom;
+    }
+
+    private synchronized void release(long startedAt) {
+        activeSince.remove(Long.valueOf(startedAt));
+        notifyAll();
+    }
+
+    private static int value(Integer count) {
+        return count == null ? 0 : count;
+    }
+
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
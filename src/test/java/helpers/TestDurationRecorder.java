@@ -0,0 +1,67 @@
+package helpers;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sums the run time of the tests in each class and writes it, in seconds, to {@code -Dtest.durations.dir}.
+ * The Gradle build folds these files into {@code test-durations.properties}, from which it balances shards.
+ */
+public class TestDurationRecorder implements TestExecutionListener {
+    private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> nanosByClass = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            startedAt.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = startedAt.remove(testIdentifier.getUniqueId());
+        if (start == null) {
+            return;
+        }
+        testIdentifier.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(source -> ((MethodSource) source).getClassName())
+                .ifPresent(className -> nanosByClass.computeIfAbsent(className, key -> new LongAdder())
+                        .add(System.nanoTime() - start));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        String directory = System.getProperty("test.durations.dir");
+        if (directory == null || nanosByClass.isEmpty()) {
+            return;
+        }
+        Properties durations = new Properties();
+        nanosByClass.forEach((className, nanos) ->
+                durations.setProperty(className, String.format(Locale.ROOT, "%.3f", nanos.sum() / 1e9)));
+        Path file = Path.of(directory).resolve("jvm-" + ProcessHandle.current().pid() + ".properties");
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                durations.store(writer, null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write test durations", e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package helpers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Outcome history per test method ({@code class#method}) kept in {@code -Dtest.history.file}: a failure score
+ * that halves with every passing run and the last run time in milliseconds.
+ */
+class TestHistory {
+    static final Path FILE = Path.of(System.getProperty("test.history.file", "build/test-history.properties"));
+
+    static class Entry {
+        final double failureScore;
+        final long millis;
+
+        Entry(double failureScore, long millis) {
+            this.failureScore = failureScore;
+            this.millis = millis;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    private TestHistory(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    static TestHistory load() {
+        return load(FILE);
+    }
+
+    static TestHistory load(Path file) {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read test history " + file, e);
+            }
+            properties.stringPropertyNames().forEach(key -> {
+                String[] values = properties.getProperty(key).split(",");
+                entries.put(key, new Entry(Double.parseDouble(values[0]), Long.parseLong(values[1])));
+            });
+        }
+        return new TestHistory(entries);
+    }
+
+    Entry get(String key) {
+        return entries.get(key);
+    }
+
+    Map<String, Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Folds one run's results into the file. Forked test JVMs finish at the same time, hence the file lock.
+     */
+    static void update(Map<String, Boolean> failed, Map<String, Long> millis) {
+        try {
+            Files.createDirectories(FILE.toAbsolutePath().getParent());
+            Path lockFile = FILE.resolveSibling(FILE.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    TestHistory history = load();
+                    failed.forEach((key, hasFailed) -> {
+                        Entry previous = history.entries.get(key);
+                        double score = (previous == null ? 0 : previous.failureScore / 2) + (hasFailed ? 1 : 0);
+                        history.entries.put(key, new Entry(score, millis.getOrDefault(key, 0L)));
+                    });
+                    Path temp = Files.createTempFile(FILE.toAbsolutePath().getParent(), "test-history", ".tmp");
+                    try (Writer writer = Files.newBufferedWriter(temp)) {
+                        for (Map.Entry<String, Entry> entry : history.entries.entrySet()) {
+                            // Scores below 0.01 are noise from failures many runs ago
+                            double score = entry.getValue().failureScore < 0.01 ? 0 : entry.getValue().failureScore;
+                            writer.write(entry.getKey() + "=" + String.format(Locale.ROOT, "%.3f", score)
+                                    + "," + entry.getValue().millis + "\n");
+                        }
+                    }
+                    Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not update test history " + FILE, e);
+        }
+    }
+}
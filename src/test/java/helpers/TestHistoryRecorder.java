@@ -0,0 +1,53 @@
+package helpers;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes each test method's outcome and run time to the {@link TestHistory} file for {@link FailFastOrderer}.
+ * Repeated and parameterised invocations of one method are folded together.
+ */
+public class TestHistoryRecorder implements TestExecutionListener {
+    private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> failed = new ConcurrentHashMap<>();
+    private final Map<String, Long> millis = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            startedAt.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = startedAt.remove(testIdentifier.getUniqueId());
+        if (start == null) {
+            return;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        boolean hasFailed = testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL;
+        testIdentifier.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(MethodSource.class::cast)
+                .map(source -> TestHistory.key(source.getClassName(), source.getMethodName()))
+                .ifPresent(key -> {
+                    failed.merge(key, hasFailed, Boolean::logicalOr);
+                    millis.merge(key, elapsed, Long::sum);
+                });
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (!failed.isEmpty()) {
+            TestHistory.update(failed, millis);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import io.restassured.path.json.mapper.factory.Jackson2ObjectMapperFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Jackson mapping for RestAssured that reports how long each deserialisation takes to {@link RequestPhaseMetrics}.
+ */
+public class TimedObjectMapper implements io.restassured.mapper.ObjectMapper {
+    private final Jackson2ObjectMapperFactory factory;
+
+    public TimedObjectMapper(Jackson2ObjectMapperFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        long start = System.nanoTime();
+        try {
+            ObjectMapper mapper = factory.create(context.getType(), context.getCharset());
+            return mapper.readValue(context.getDataToDeserialize().asInputStream(), mapper.constructType(context.getType()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialise response to " + context.getType(), e);
+        } finally {
+            RequestPhaseMetrics.recordDeserialization(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        Object object = context.getObjectToSerialize();
+        try {
+            return factory.create(object.getClass(), context.getCharset()).writeValueAsString(object);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialise " + object.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package load;
+
+import helpers.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadReport {
+    private final Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+    private volatile Duration elapsed = Duration.ZERO;
+    private volatile long stuckUsers;
+    private volatile long users;
+
+    LoadReport(List<Scenario> scenarios) {
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new ScenarioStats()));
+    }
+
+    void success(Scenario scenario, long nanos) {
+        stats.get(scenario.name()).latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void failure(Scenario scenario, long nanos, Throwable error) {
+        ScenarioStats scenarioStats = stats.get(scenario.name());
+        scenarioStats.latency.record(nanos, TimeUnit.NANOSECONDS);
+        scenarioStats.errors.increment();
+        scenarioStats.firstError.compareAndSet(null, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    void incomplete(long stuckUsers, long users) {
+        this.stuckUsers = stuckUsers;
+        this.users = users;
+    }
+
+    public boolean isComplete() {
+        return stuckUsers == 0;
+    }
+
+    public long requests() {
+        return stats.values().stream().mapToLong(s -> s.latency.count()).sum();
+    }
+
+    public long errors() {
+        return stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+    }
+
+    public double errorPercent() {
+        long requests = requests();
+        return requests == 0 ? 0 : errors() * 100.0 / requests;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        String format = "%-20s %9s %7s %9s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        stats.forEach((name, s) -> out.printf(format, name,
+                s.latency.count(),
+                s.errors.sum(),
+                String.format("%.1f", s.latency.count() / seconds),
+                String.format("%.1f", s.latency.percentileMillis(50)),
+                String.format("%.1f", s.latency.percentileMillis(90)),
+                String.format("%.1f", s.latency.percentileMillis(95)),
+                String.format("%.1f", s.latency.percentileMillis(99)),
+                String.format("%.1f", s.latency.maxMillis())));
+        out.printf("total: %d requests, %d errors (%.2f%%), %.1f req/s over %.1f s%n",
+                requests(), errors(), errorPercent(), requests() / seconds, seconds);
+        stats.forEach((name, s) -> {
+            if (s.firstError.get() != null) {
+                out.println("first failure in " + name + ": " + s.firstError.get());
+            }
+        });
+        if (!isComplete()) {
+            out.printf("INCOMPLETE: %d of %d users were still in a scenario after the grace period and were "
+                    + "interrupted; their last calls are missing%n", stuckUsers, users);
+        }
+    }
+
+    private static class ScenarioStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final AtomicReference<String> firstError = new AtomicReference<>();
+    }
+}
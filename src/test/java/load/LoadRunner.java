@@ -0,0 +1,87 @@
+package load;
+
+import helpers.RequestPhaseMetrics;
+import io.restassured.RestAssured;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the functional scenarios as a closed-model load test: every virtual user runs the scenarios
+ * back to back until the duration is over.
+ * <p>
+ * {@code -Dload.users} (default 50), {@code -Dload.duration} in seconds (default 30) and
+ * {@code -Dload.maxErrorPercent} (default 1) configure the run; the target comes from {@code helpers.ReqresTarget}.
+ * Users still inside a scenario a minute after the end are interrupted and the run is reported incomplete.
+ */
+public class LoadRunner {
+    private final List<Scenario> scenarios;
+    private final int users;
+    private final Duration duration;
+
+    public LoadRunner(List<Scenario> scenarios, int users, Duration duration) {
+        this.scenarios = scenarios;
+        this.users = users;
+        this.duration = duration;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = Integer.getInteger("load.users", 50);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        double maxErrorPercent = Double.parseDouble(System.getProperty("load.maxErrorPercent", "1"));
+
+        RestAssured.config = RequestPhaseMetrics.config();
+        LoadReport report = new LoadRunner(ReqresScenarios.all(), users, duration).run();
+        report.print(System.out);
+        System.exit(!report.isComplete() || report.errorPercent() > maxErrorPercent ? 1 : 0);
+    }
+
+    public LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport(scenarios);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        ExecutorService executor = userExecutor(users);
+        CountDownLatch running = new CountDownLatch(users);
+        for (int user = 0; user < users; user++) {
+            int offset = user;
+            executor.execute(() -> {
+                try {
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        Scenario scenario = scenarios.get(i % scenarios.size());
+                        long callStart = System.nanoTime();
+                        try {
+                            scenario.run();
+                            report.success(scenario, System.nanoTime() - callStart);
+                        } catch (Throwable e) {
+                            report.failure(scenario, System.nanoTime() - callStart, e);
+                        }
+                    }
+                } finally {
+                    running.countDown();
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            // Hung calls never reach the report, so the numbers cover only the users that finished
+            executor.shutdownNow();
+            report.incomplete(running.getCount(), users);
+        }
+        report.finish(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    // Virtual threads need Java 21; on older runtimes each user gets a platform thread instead
+    static ExecutorService userExecutor(int users) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(users);
+        }
+    }
+}
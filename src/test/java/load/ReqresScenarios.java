@@ -0,0 +1,129 @@
+package load;
+
+import models.lombok.*;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static specs.Specs.*;
+
+/**
+ * The requests and assertions of {@code ReqresInWithSpecsTest}, packaged for repeated execution.
+ */
+public class ReqresScenarios {
+    private static final String EXPECTED_TOKEN = "QpwL5tke4Pnpja7X4",
+            USER_NAME = "morpheus",
+            USER_JOB = "zion resident",
+            USER_EMAIL = "eve.holt@reqres.in",
+            LOGIN_PASSWORD = "cityslicka",
+            REGISTRATION_PASSWORD = "pistol";
+
+    public static List<Scenario> all() {
+        return List.of(
+                Scenario.of("login", ReqresScenarios::login),
+                Scenario.of("register", ReqresScenarios::register),
+                Scenario.of("create user", ReqresScenarios::create),
+                Scenario.of("patch users/2", ReqresScenarios::patch),
+                Scenario.of("put users/2", ReqresScenarios::put),
+                Scenario.of("delete users/2", ReqresScenarios::delete),
+                Scenario.of("list users?page=2", ReqresScenarios::listUsers)
+        );
+    }
+
+    static void login() {
+        UserLoginAndRegistrationRequestModel requestBody = new UserLoginAndRegistrationRequestModel();
+        requestBody.setEmail(USER_EMAIL);
+        requestBody.setPassword(LOGIN_PASSWORD);
+
+        UserLoginResponseModel response = given(requestSpec)
+                .body(requestBody)
+                .when()
+                .post("login")
+                .then()
+                .spec(responseWithCode200Spec)
+                .extract().as(UserLoginResponseModel.class);
+        assertEquals(EXPECTED_TOKEN, response.getToken());
+    }
+
+    static void register() {
+        UserLoginAndRegistrationRequestModel requestBody = new UserLoginAndRegistrationRequestModel();
+        requestBody.setEmail(USER_EMAIL);
+        requestBody.setPassword(REGISTRATION_PASSWORD);
+
+        UserRegistrationResponseModel response = given(requestSpec)
+                .body(requestBody)
+                .when()
+                .post("register")
+                .then()
+                .spec(responseWithCode200Spec)
+                .extract().as(UserRegistrationResponseModel.class);
+        assertEquals(EXPECTED_TOKEN, response.getToken());
+    }
+
+    static void create() {
+        CreatePatchPutRequestModel requestBody = new CreatePatchPutRequestModel();
+        requestBody.setName(USER_NAME);
+        requestBody.setJob(USER_JOB);
+
+        CreatePatchPutResponseModel response = given(requestSpec)
+                .body(requestBody)
+                .when()
+                .post("users")
+                .then()
+                .spec(responseWithCode201Spec)
+                .extract().as(CreatePatchPutResponseModel.class);
+        assertEquals(USER_NAME, response.getName());
+        assertThat(response.getId()).isNotNull();
+    }
+
+    static void patch() {
+        CreatePatchPutRequestModel requestBody = new CreatePatchPutRequestModel();
+        requestBody.setName(USER_NAME);
+        requestBody.setJob(USER_JOB);
+
+        CreatePatchPutResponseModel response = given(requestSpec)
+                .body(requestBody)
+                .when()
+                .patch("users/2")
+                .then()
+                .spec(responseWithCode200Spec)
+                .extract().as(CreatePatchPutResponseModel.class);
+        assertEquals(USER_JOB, response.getJob());
+    }
+
+    static void put() {
+        CreatePatchPutRequestModel requestBody = new CreatePatchPutRequestModel();
+        requestBody.setName(USER_NAME);
+        requestBody.setJob(USER_JOB);
+
+        CreatePatchPutResponseModel response = given(requestSpec)
+                .body(requestBody)
+                .when()
+                .put("users/2")
+                .then()
+                .spec(responseWithCode200Spec)
+                .extract().as(CreatePatchPutResponseModel.class);
+        assertEquals(USER_JOB, response.getJob());
+    }
+
+    static void delete() {
+        given(requestSpec)
+                .when()
+                .delete("users/2")
+                .then()
+                .spec(responseWithCode204Spec);
+    }
+
+    static void listUsers() {
+        UsersListResponseModel response = given(requestSpec)
+                .when()
+                .get("users?page=2")
+                .then()
+                .spec(usersListResponseSpec)
+                .extract().as(UsersListResponseModel.class);
+        assertThat(response.getData().getFirst().getID()).isEqualTo(7);
+        assertThat(response.getData().getLast().getID()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,109 @@
+package load;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Periodic readings of the resources a leak would grow: heap in use straight after a full GC, live threads,
+ * open file descriptors and open sockets. Descriptors and sockets are read from the OS and are {@code -1} where
+ * it does not expose them.
+ */
+public class ResourceSampler {
+    public enum Resource { HEAP_AFTER_GC_MB, THREADS, OPEN_FDS, SOCKETS }
+
+    private static final Path OWN_FDS = Path.of("/proc/self/fd");
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final List<Sample> samples = new ArrayList<>();
+    private final long start = System.nanoTime();
+
+    public synchronized Sample sample() {
+        // Only what is still reachable counts, so successive readings are comparable; finalizers are not run,
+        // anything that only a finalizer would release is a leak and must show up as one
+        memory.gc();
+        Sample sample = new Sample((System.nanoTime() - start) / 1e9, new double[]{
+                memory.getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0),
+                threads.getThreadCount(),
+                os instanceof UnixOperatingSystemMXBean
+                        ? ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount() : -1,
+                sockets()});
+        samples.add(sample);
+        return sample;
+    }
+
+    public synchronized List<Sample> samples() {
+        return new ArrayList<>(samples);
+    }
+
+    /**
+     * Least-squares growth of {@code resource} across the samples taken after {@code fromSeconds}:
+     * the fitted slope times the time they span, so a flat or noisy-but-level series comes out near zero.
+     */
+    public synchronized double growth(Resource resource, double fromSeconds) {
+        List<Sample> window = new ArrayList<>();
+        for (Sample sample : samples) {
+            if (sample.seconds >= fromSeconds && sample.value(resource) >= 0) {
+                window.add(sample);
+            }
+        }
+        if (window.size() < 3) {
+            return Double.NaN;
+        }
+        double meanT = 0, meanV = 0;
+        for (Sample sample : window) {
+            meanT += sample.seconds / window.size();
+            meanV += sample.value(resource) / window.size();
+        }
+        double covariance = 0, variance = 0;
+        for (Sample sample : window) {
+            covariance += (sample.seconds - meanT) * (sample.value(resource) - meanV);
+            variance += (sample.seconds - meanT) * (sample.seconds - meanT);
+        }
+        double span = window.get(window.size() - 1).seconds - window.get(0).seconds;
+        return variance == 0 ? 0 : covariance / variance * span;
+    }
+
+    private static int sockets() {
+        if (!Files.isDirectory(OWN_FDS)) {
+            return -1;
+        }
+        try (Stream<Path> fds = Files.list(OWN_FDS)) {
+            return (int) fds.filter(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).toString().startsWith("socket:");
+                } catch (IOException e) {
+                    // Closed between listing and reading
+                    return false;
+                }
+            }).count();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public static class Sample {
+        final double seconds;
+        final double[] values;
+
+        Sample(double seconds, double[] values) {
+            this.seconds = seconds;
+            this.values = values;
+        }
+
+        public double value(Resource resource) {
+            return values[resource.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package load;
+
+/**
+ * One request/assertion pair taken from the functional suite.
+ * Implementations throw (an {@link AssertionError} or any runtime exception) when the call fails.
+ */
+public interface Scenario {
+    String name();
+
+    void run();
+
+    static Scenario of(String name, Runnable body) {
+        return new Scenario() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void run() {
+                body.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package load;
+
+import helpers.RequestPhaseMetrics;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.restassured.RestAssured;
+import load.ResourceSampler.Resource;
+import load.ResourceSampler.Sample;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link LoadRunner} scenarios for a long time at a modest rate and watches for leaks: every
+ * {@code -Dsoak.sampleInterval} seconds (default 10) it samples heap after GC, threads, file descriptors and sockets,
+ * and fails when the fitted growth of any of them after {@code -Dsoak.warmup} seconds (default 60) exceeds its limit.
+ * <p>
+ * {@code -Dsoak.users} (default 8), {@code -Dsoak.duration} in seconds (default 1800) and
+ * {@code -Dsoak.maxErrorPercent} (default 1) shape the run. Limits: {@code -Dsoak.maxHeapGrowthMb} (16),
+ * {@code -Dsoak.maxThreadGrowth} (4), {@code -Dsoak.maxFdGrowth} (16), {@code -Dsoak.maxSocketGrowth} (8).
+ * Each scenario runs as an Allure test case, so the attachment filter does its full work, with results discarded
+ * instead of written; {@code -Dsoak.allure=false} runs them bare.
+ */
+public class SoakRunner {
+    private final List<Scenario> scenarios;
+    private final int users;
+    private final Duration duration;
+    private final Duration interval;
+    private final ResourceSampler sampler = new ResourceSampler();
+
+    public SoakRunner(List<Scenario> scenarios, int users, Duration duration, Duration interval) {
+        this.scenarios = scenarios;
+        this.users = users;
+        this.duration = duration;
+        this.interval = interval;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = Integer.getInteger("soak.users", 8);
+        Duration duration = Duration.ofSeconds(Long.getLong("soak.duration", 1800));
+        Duration interval = Duration.ofSeconds(Long.getLong("soak.sampleInterval", 10));
+        double warmupSeconds = Long.getLong("soak.warmup", 60);
+        double maxErrorPercent = Double.parseDouble(System.getProperty("soak.maxErrorPercent", "1"));
+        Map<Resource, Double> limits = new EnumMap<>(Resource.class);
+        limits.put(Resource.HEAP_AFTER_GC_MB, Double.parseDouble(System.getProperty("soak.maxHeapGrowthMb", "16")));
+        limits.put(Resource.THREADS, Double.parseDouble(System.getProperty("soak.maxThreadGrowth", "4")));
+        limits.put(Resource.OPEN_FDS, Double.parseDouble(System.getProperty("soak.maxFdGrowth", "16")));
+        limits.put(Resource.SOCKETS, Double.parseDouble(System.getProperty("soak.maxSocketGrowth", "8")));
+
+        // Per-thread clients that keep their connections; RestAssured's default leaves one client per request to GC
+        RestAssured.config = RequestPhaseMetrics.config();
+        List<Scenario> scenarios = ReqresScenarios.all();
+        if (Boolean.parseBoolean(System.getProperty("soak.allure", "true"))) {
+            Allure.setLifecycle(new AllureLifecycle(new DiscardingWriter()));
+            scenarios = asAllureTestCases(scenarios);
+        }
+        SoakRunner runner = new SoakRunner(scenarios, users, duration, interval);
+        LoadReport report = runner.run(System.out);
+        report.print(System.out);
+        List<String> leaks = runner.leaks(limits, warmupSeconds, System.out);
+        leaks.forEach(leak -> System.out.println("LEAK: " + leak));
+        System.exit(!report.isComplete() || report.errorPercent() > maxErrorPercent || !leaks.isEmpty() ? 1 : 0);
+    }
+
+    public LoadReport run(PrintStream out) throws InterruptedException {
+        String format = "%8s %14s %8s %9s %8s%n";
+        out.printf(format, "seconds", "heap after GC", "threads", "open fds", "sockets");
+        ScheduledExecutorService sampling = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampling.scheduleAtFixedRate(() -> print(out, format, sampler.sample()),
+                0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            return new LoadRunner(scenarios, users, duration).run();
+        } finally {
+            sampling.shutdown();
+            sampling.awaitTermination(1, TimeUnit.MINUTES);
+            print(out, format, sampler.sample());
+        }
+    }
+
+    /**
+     * @return one line per resource that grew beyond its limit after the warm-up
+     */
+    public List<String> leaks(Map<Resource, Double> limits, double warmupSeconds, PrintStream out) {
+        List<String> leaks = new ArrayList<>();
+        limits.forEach((resource, limit) -> {
+            double growth = sampler.growth(resource, warmupSeconds);
+            if (Double.isNaN(growth)) {
+                out.println("trend of " + resource + ": not enough samples after the warm-up");
+                return;
+            }
+            out.printf(Locale.ROOT, "trend of %s: %+.1f (limit %.1f)%n", resource, growth, limit);
+            if (growth > limit) {
+                leaks.add(String.format(Locale.ROOT, "%s grew by %.1f after %.0f s of warm-up, limit %.1f",
+                        resource, growth, warmupSeconds, limit));
+            }
+        });
+        return leaks;
+    }
+
+    private static void print(PrintStream out, String format, Sample sample) {
+        out.printf(format, String.format(Locale.ROOT, "%.0f", sample.seconds),
+                String.format(Locale.ROOT, "%.1f MB", sample.value(Resource.HEAP_AFTER_GC_MB)),
+                (long) sample.value(Resource.THREADS),
+                (long) sample.value(Resource.OPEN_FDS),
+                (long) sample.value(Resource.SOCKETS));
+    }
+
+    private static List<Scenario> asAllureTestCases(List<Scenario> scenarios) {
+        List<Scenario> wrapped = new ArrayList<>(scenarios.size());
+        for (Scenario scenario : scenarios) {
+            wrapped.add(Scenario.of(scenario.name(), () -> {
+                AllureLifecycle lifecycle = Allure.getLifecycle();
+                String uuid = UUID.randomUUID().toString();
+                lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(scenario.name()));
+                lifecycle.startTestCase(uuid);
+                try {
+                    scenario.run();
+                } finally {
+                    lifecycle.stopTestCase(uuid);
+                    lifecycle.writeTestCase(uuid);
+                }
+            }));
+        }
+        return wrapped;
+    }
+
+    private static class DiscardingWriter implements AllureResultsWriter {
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
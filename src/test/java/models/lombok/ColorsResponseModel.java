@@ -3,11 +3,13 @@ package models.lombok;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 
-import java.util.LinkedList;
-
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ColorsResponseModel {
 
-    private LinkedList<Color> data;
+    private Integer page;
+    private Integer per_page;
+    private Integer total;
+    private Integer total_pages;
+    private DataList<Color> data;
 }
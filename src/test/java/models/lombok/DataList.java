@@ -0,0 +1,26 @@
+package models.lombok;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code data} array of a list response: an {@link ArrayList} (one backing array instead of a node per
+ * element) that keeps the {@code getFirst()}/{@code getLast()} the tests were written against.
+ */
+public class DataList<T> extends ArrayList<T> {
+    private static final long serialVersionUID = 1L;
+
+    public T getFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return get(0);
+    }
+
+    public T getLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return get(size() - 1);
+    }
+}
@@ -0,0 +1,17 @@
+package models.lombok;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SelenoidStatusModel {
+
+    private Integer total;
+    private Integer used;
+    private Integer queued;
+    private Integer pending;
+    private Map<String, Map<String, Object>> browsers;
+}
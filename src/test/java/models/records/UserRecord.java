@@ -0,0 +1,13 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserRecord(
+        @JsonProperty("id") Integer id,
+        @JsonProperty("email") String email,
+        @JsonProperty("first_name") String firstName,
+        @JsonProperty("last_name") String lastName,
+        @JsonProperty("avatar") String avatar) {
+}
@@ -0,0 +1,15 @@
+package models.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UsersListRecord(
+        @JsonProperty("page") Integer page,
+        @JsonProperty("per_page") Integer perPage,
+        @JsonProperty("total") Integer total,
+        @JsonProperty("total_pages") Integer totalPages,
+        @JsonProperty("data") List<UserRecord> data) {
+}
@@ -1,55 +1,89 @@
 package specs;
 
+import helpers.RequestPhaseMetrics;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 
 import static helpers.CustomAllureListener.withCustomTemplates;
+import static helpers.JsonSchemaRegistry.matchesCachedJsonSchema;
+import static helpers.LatencyCollector.collectLatency;
+import static helpers.LogOnFailureFilter.logOnFailure;
+import static helpers.MemoizingGetFilter.memoizeGets;
+import static helpers.RecordReplayFilter.recordReplay;
+import static helpers.RequestPhaseMetrics.recordPhases;
+import static helpers.ReqresTarget.baseUri;
+import static helpers.RetryFilter.retryTransientFailures;
+import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.with;
-import static io.restassured.filter.log.LogDetail.BODY;
-import static io.restassured.filter.log.LogDetail.STATUS;
 import static io.restassured.http.ContentType.JSON;
 
 public class Specs {
-    public static RequestSpecification requestSpec = with()
-            .log().uri()
-            .log().body()
+    public static final RequestSpecification requestSpec = with()
+            .filter(logOnFailure())
             .filter(withCustomTemplates())
+            .filter(memoizeGets())
+            .filter(collectLatency())
+            .filter(recordPhases())
+            .filter(recordReplay())
+            .filter(retryTransientFailures())
             .contentType(JSON)
-            .baseUri("https://reqres.in")
+            .baseUri(baseUri())
             .basePath("/api");
-    public static RequestSpecification loginRequestWithoutJsonFormatSpec = with()
-            .log().uri()
-            .log().body()
+    public static final RequestSpecification loginRequestWithoutJsonFormatSpec = with()
+            .filter(logOnFailure())
             .filter(withCustomTemplates())
-            .baseUri("https://reqres.in")
+            .filter(memoizeGets())
+            .filter(collectLatency())
+            .filter(recordPhases())
+            .filter(recordReplay())
+            .filter(retryTransientFailures())
+            .baseUri(baseUri())
             .basePath("/api");
 
-    public static ResponseSpecification responseWithCode200Spec = new ResponseSpecBuilder()
-            .log(STATUS)
-            .log(BODY)
+    // Opt-in: network phases and wire bytes need the instrumented client, on top of the current global config
+    public static RequestSpecification withPhaseMetrics(RequestSpecification spec) {
+        return given().spec(spec).config(RequestPhaseMetrics.config());
+    }
+
+    // Asks for gzip and measures the wire; no memoised or replayed answers, they never cross it
+    public static RequestSpecification compressedRequestSpec() {
+        return with()
+                .filter(logOnFailure())
+                .filter(withCustomTemplates())
+                .filter(collectLatency())
+                .filter(recordPhases())
+                .filter(retryTransientFailures())
+                .config(RequestPhaseMetrics.config())
+                .header("Accept-Encoding", "gzip")
+                .contentType(JSON)
+                .baseUri(baseUri())
+                .basePath("/api");
+    }
+
+    public static final ResponseSpecification responseWithCode200Spec = new ResponseSpecBuilder()
             .expectStatusCode(200)
             .build();
 
-    public static ResponseSpecification responseWithCode400Spec = new ResponseSpecBuilder()
-            .log(STATUS)
-            .log(BODY)
+    public static final ResponseSpecification responseWithCode400Spec = new ResponseSpecBuilder()
             .expectStatusCode(400)
             .build();
-    public static ResponseSpecification responseWithCode204Spec = new ResponseSpecBuilder()
-            .log(STATUS)
-            .log(BODY)
+    public static final ResponseSpecification responseWithCode204Spec = new ResponseSpecBuilder()
             .expectStatusCode(204)
             .build();
-    public static ResponseSpecification responseWithCode201Spec = new ResponseSpecBuilder()
-            .log(STATUS)
-            .log(BODY)
+    public static final ResponseSpecification responseWithCode201Spec = new ResponseSpecBuilder()
             .expectStatusCode(201)
             .build();
-    public static ResponseSpecification responseWithCode404Spec = new ResponseSpecBuilder()
-            .log(STATUS)
-            .log(BODY)
+    public static final ResponseSpecification responseWithCode404Spec = new ResponseSpecBuilder()
             .expectStatusCode(404)
             .build();
+    public static final ResponseSpecification usersListResponseSpec = new ResponseSpecBuilder()
+            .expectStatusCode(200)
+            .expectBody(matchesCachedJsonSchema("schemes/users-list-response-scheme.json"))
+            .build();
+    public static final ResponseSpecification selenoidStatusResponseSpec = new ResponseSpecBuilder()
+            .expectStatusCode(200)
+            .expectBody(matchesCachedJsonSchema("schemes/status-response-scheme.json"))
+            .build();
 
-}
\ No newline at end of file
+}
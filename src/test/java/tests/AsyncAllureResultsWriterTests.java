@@ -0,0 +1,218 @@
+package tests;
+
+import helpers.AsyncAllureResultsWriter;
+import helpers.AsyncAllureWriterListener;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every test writes to a fake delegate of its own, never to the run's Allure results
+public class AsyncAllureResultsWriterTests {
+    Integer results = 200,
+            queueCapacity = 2,
+            blockedMillis = 200;
+    Long flushSeconds = 10L;
+
+    List<AsyncAllureResultsWriter> writers = new ArrayList<>();
+
+    @AfterEach
+    void closeWriters() {
+        writers.forEach(AsyncAllureResultsWriter::close);
+    }
+
+    @Test
+    @DisplayName("Results reach the delegate in the order they were written")
+    void writesKeepOrderTest() {
+        RecordingWriter delegate = new RecordingWriter();
+        AsyncAllureResultsWriter writer = writer(delegate);
+        List<String> names = IntStream.range(0, results).mapToObj(i -> "result " + i).collect(Collectors.toList());
+
+        step("Write results, a container and an attachment", () -> {
+            names.forEach(name -> writer.write(new TestResult().setName(name)));
+            writer.write(new TestResultContainer().setName("container"));
+            writer.write("attachment.txt", new ByteArrayInputStream("body".getBytes(StandardCharsets.UTF_8)));
+        });
+        step("Flush", () -> assertThat(writer.flush(flushSeconds, TimeUnit.SECONDS)).isTrue());
+        List<String> expected = new ArrayList<>(names);
+        expected.add("container");
+        expected.add("attachment.txt: body");
+        step("Check everything was written, in order", () ->
+                assertThat(delegate.written).containsExactlyElementsOf(expected));
+    }
+
+    @Test
+    @DisplayName("Flush waits for the writes queued before it and times out on a stuck delegate")
+    void flushTest() {
+        RecordingWriter delegate = new RecordingWriter();
+        AsyncAllureResultsWriter writer = writer(delegate);
+        delegate.gate = new CountDownLatch(1);
+
+        writer.write(new TestResult().setName("stuck"));
+        step("Check flush gives up while the delegate is stuck", () ->
+                assertThat(writer.flush(blockedMillis, TimeUnit.MILLISECONDS)).isFalse());
+        delegate.gate.countDown();
+        step("Check flush succeeds once the delegate moves on", () ->
+                assertThat(writer.flush(flushSeconds, TimeUnit.SECONDS)).isTrue());
+        step("Check the write landed", () -> assertThat(delegate.written).containsExactly("stuck"));
+    }
+
+    @Test
+    @DisplayName("A full queue blocks producers until the writer catches up")
+    void fullQueueBlocksProducersTest() throws Exception {
+        RecordingWriter delegate = new RecordingWriter();
+        AsyncAllureResultsWriter writer = writer(delegate);
+        delegate.gate = new CountDownLatch(1);
+        writer.write(new TestResult().setName("in progress"));
+        delegate.entered.await(flushSeconds, TimeUnit.SECONDS);
+
+        // The writer thread is held inside the first write; the next ones fill the queue, the last must wait
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> IntStream.rangeClosed(1, queueCapacity + 1)
+                .forEach(i -> writer.write(new TestResult().setName("queued " + i))));
+        Thread.sleep(blockedMillis);
+        step("Check the producer is blocked", () -> assertThat(producer).isNotDone());
+
+        delegate.gate.countDown();
+        producer.get(flushSeconds, TimeUnit.SECONDS);
+        step("Check every write landed after the writer caught up", () -> {
+            assertThat(writer.flush(flushSeconds, TimeUnit.SECONDS)).isTrue();
+            assertThat(delegate.written).containsExactly("in progress", "queued 1", "queued 2", "queued 3");
+        });
+    }
+
+    // A dead writer thread leaves producers blocked on the full queue; fail instead of hanging
+    @Test
+    @Timeout(30)
+    @DisplayName("An Error from the delegate does not stop the writer thread")
+    void errorKeepsWriterAliveTest() {
+        RecordingWriter delegate = new RecordingWriter();
+        AsyncAllureResultsWriter writer = writer(delegate);
+        delegate.failOn = "broken";
+
+        step("Write a result the delegate fails on, then more", () -> {
+            writer.write(new TestResult().setName("broken"));
+            IntStream.range(0, queueCapacity * 2).forEach(i -> writer.write(new TestResult().setName("after " + i)));
+        });
+        step("Check later results are still written", () -> {
+            assertThat(writer.flush(flushSeconds, TimeUnit.SECONDS)).isTrue();
+            assertThat(delegate.written).containsExactly("after 0", "after 1", "after 2", "after 3");
+        });
+    }
+
+    @Test
+    @DisplayName("The listener swaps a lifecycle's writer for the async one")
+    void listenerInstallsAsyncWriterTest() throws ReflectiveOperationException {
+        RecordingWriter delegate = new RecordingWriter();
+        AllureLifecycle lifecycle = new AllureLifecycle(delegate);
+        String uuid = UUID.randomUUID().toString();
+
+        AsyncAllureResultsWriter writer = AsyncAllureWriterListener.install(lifecycle, queueCapacity);
+        writers.add(writer);
+        step("Check a second install keeps the same writer", () ->
+                assertThat(AsyncAllureWriterListener.install(lifecycle, queueCapacity)).isSameAs(writer));
+        step("Run a test case through the lifecycle", () -> {
+            lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("through lifecycle"));
+            lifecycle.startTestCase(uuid);
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        });
+        step("Check the result reached the original writer through the async one", () -> {
+            assertThat(writer.flush(flushSeconds, TimeUnit.SECONDS)).isTrue();
+            assertThat(delegate.written).containsExactly("through lifecycle");
+        });
+    }
+
+    @Test
+    @DisplayName("Close writes what is queued, stops the writer thread and writes later results directly")
+    void closeTest() {
+        RecordingWriter delegate = new RecordingWriter();
+        AsyncAllureResultsWriter writer = writer(delegate);
+
+        step("Queue results and close", () -> {
+            IntStream.range(0, queueCapacity).forEach(i -> writer.write(new TestResult().setName("queued " + i)));
+            writer.close();
+        });
+        step("Check the queued results were written and the writer thread has ended", () -> {
+            assertThat(delegate.written).containsExactly("queued 0", "queued 1");
+            assertThat(delegate.threads).hasSize(1).noneMatch(Thread::isAlive);
+        });
+        step("Check a later result is written on the caller's thread", () -> {
+            writer.write(new TestResult().setName("after close"));
+            assertThat(delegate.written).endsWith("after close");
+            assertThat(delegate.threads).contains(Thread.currentThread());
+            assertThat(writer.flush(flushSeconds, TimeUnit.SECONDS)).isTrue();
+        });
+        step("Check closing again does nothing", writer::close);
+    }
+
+    private AsyncAllureResultsWriter writer(AllureResultsWriter delegate) {
+        AsyncAllureResultsWriter writer = new AsyncAllureResultsWriter(delegate, queueCapacity);
+        writers.add(writer);
+        return writer;
+    }
+
+    private static class RecordingWriter implements AllureResultsWriter {
+        final List<String> written = Collections.synchronizedList(new ArrayList<>());
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile String failOn;
+
+        @Override
+        public void write(TestResult testResult) {
+            record(testResult.getName());
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+            record(testResultContainer.getName());
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try {
+                record(source + ": " + new String(attachment.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void record(String name) {
+            threads.add(Thread.currentThread());
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (name.equals(failOn)) {
+                throw new Error("delegate failed on " + name);
+            }
+            written.add(name);
+        }
+    }
+}
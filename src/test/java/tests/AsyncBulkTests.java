@@ -0,0 +1,78 @@
+package tests;
+
+import models.lombok.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static helpers.AsyncReqresClient.asyncReqres;
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Hundreds of requests per test: only against the local stand-in, never the public service
+@EnabledIfSystemProperty(named = "reqres.standin", matches = "true")
+public class AsyncBulkTests {
+    String expectedToken = "QpwL5tke4Pnpja7X4",
+            userName = "morpheus",
+            userJob = "zion resident",
+            userEmail = "eve.holt@reqres.in",
+            userPassword = "cityslicka";
+    Integer requestsInFlight = 200,
+            expectedIDOfFirstUser = 7,
+            expectedIDOfLastUser = 12;
+
+    @Test
+    @DisplayName("Many concurrent logins all get the token")
+    void bulkLoginTest() {
+        UserLoginAndRegistrationRequestModel requestBody = new UserLoginAndRegistrationRequestModel();
+        requestBody.setEmail(userEmail);
+        requestBody.setPassword(userPassword);
+
+        List<UserLoginResponseModel> responses = step("Send " + requestsInFlight + " logins at once", () ->
+                join(IntStream.range(0, requestsInFlight)
+                        .mapToObj(i -> asyncReqres().post("login", requestBody, 200, UserLoginResponseModel.class))
+                        .collect(Collectors.toList())));
+        step("Check token in every response", () ->
+                responses.forEach(response -> assertEquals(expectedToken, response.getToken())));
+    }
+
+    @Test
+    @DisplayName("Concurrent create, update and list requests")
+    void bulkMixedRequestsTest() {
+        CreatePatchPutRequestModel requestBody = new CreatePatchPutRequestModel();
+        requestBody.setName(userName);
+        requestBody.setJob(userJob);
+
+        CompletableFuture<List<CreatePatchPutResponseModel>> created = CompletableFuture.supplyAsync(() -> join(
+                IntStream.range(0, requestsInFlight / 2)
+                        .mapToObj(i -> asyncReqres().post("users", requestBody, 201, CreatePatchPutResponseModel.class))
+                        .collect(Collectors.toList())));
+        CompletableFuture<CreatePatchPutResponseModel> updated =
+                asyncReqres().put("users/2", requestBody, 200, CreatePatchPutResponseModel.class);
+        CompletableFuture<UsersListResponseModel> listed =
+                asyncReqres().get("users?page=2", 200, UsersListResponseModel.class);
+
+        step("Check created users", () -> assertThat(created.join())
+                .hasSize(requestsInFlight / 2)
+                .allSatisfy(response -> {
+                    assertEquals(userName, response.getName());
+                    assertThat(response.getId()).isNotNull();
+                }));
+        step("Check updated user", () -> assertEquals(userJob, updated.join().getJob()));
+        step("Check user list", () -> {
+            assertThat(listed.join().getData().getFirst().getID()).isEqualTo(expectedIDOfFirstUser);
+            assertThat(listed.join().getData().getLast().getID()).isEqualTo(expectedIDOfLastUser);
+        });
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+}
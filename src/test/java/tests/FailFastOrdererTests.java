@@ -0,0 +1,237 @@
+package tests;
+
+import helpers.FailFastOrderer;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each test hands the orderer a history file of its own, so the run's real history never decides the outcome
+public class FailFastOrdererTests {
+    List<String> expectedMethodOrder = List.of("failedLastRun", "failedEarlier", "fastPassing", "slowPassing",
+            "newTestA", "newTestB");
+    List<Class<?>> expectedClassOrder = List.of(FlakySample.class, QuickSample.class, SlowSample.class,
+            NewSample.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Methods run recently failed first, then fastest, then those without history")
+    void methodOrderTest() throws Exception {
+        Map<String, String> history = new LinkedHashMap<>();
+        history.put(key(Sample.class, "failedLastRun"), "1.000,4000");
+        history.put(key(Sample.class, "failedEarlier"), "0.250,9000");
+        history.put(key(Sample.class, "fastPassing"), "0.000,20");
+        history.put(key(Sample.class, "slowPassing"), "0.000,3000");
+        FailFastOrderer orderer = orderer(history);
+        List<MethodDescriptor> methods = new ArrayList<>();
+        for (String name : List.of("newTestB", "slowPassing", "newTestA", "fastPassing", "failedEarlier",
+                "failedLastRun")) {
+            methods.add(new FakeMethod(Sample.class.getDeclaredMethod(name)));
+        }
+
+        step("Order the methods", () -> orderer.orderMethods(new FakeMethodContext(methods)));
+        step("Check the order", () ->
+                assertThat(methods).extracting(method -> method.getMethod().getName())
+                        .containsExactlyElementsOf(expectedMethodOrder));
+    }
+
+    @Test
+    @DisplayName("Classes run by their worst failure score, then total run time, then those without history")
+    void classOrderTest() throws Exception {
+        Map<String, String> history = new LinkedHashMap<>();
+        history.put(key(FlakySample.class, "first"), "0.000,5000");
+        history.put(key(FlakySample.class, "second"), "0.500,5000");
+        history.put(key(QuickSample.class, "first"), "0.000,2000");
+        history.put(key(SlowSample.class, "first"), "0.000,1500");
+        history.put(key(SlowSample.class, "second"), "0.000,1500");
+        FailFastOrderer orderer = orderer(history);
+        List<ClassDescriptor> classes = new ArrayList<>();
+        for (Class<?> testClass : List.of(NewSample.class, SlowSample.class, QuickSample.class, FlakySample.class)) {
+            classes.add(new FakeClass(testClass));
+        }
+
+        step("Order the classes", () -> orderer.orderClasses(new FakeClassContext(classes)));
+        step("Check the order", () ->
+                assertThat(classes).extracting(ClassDescriptor::getTestClass)
+                        .containsExactlyElementsOf(expectedClassOrder));
+    }
+
+    @Test
+    @DisplayName("Ordering leaves the execution mode to the run's configuration")
+    void keepsConfiguredExecutionModeTest() throws Exception {
+        // JUnit runs the methods of a class with an ordered default mode on one thread, whatever the config says
+        step("Check the orderer asks for no execution mode", () ->
+                assertThat(orderer(Map.of()).getDefaultExecutionMode()).isEmpty());
+    }
+
+    private FailFastOrderer orderer(Map<String, String> history) throws IOException {
+        Path file = directory.resolve("test-history.properties");
+        Files.write(file, history.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.toList()));
+        return FailFastOrderer.fromHistory(file);
+    }
+
+    private static String key(Class<?> testClass, String methodName) {
+        return testClass.getName() + "#" + methodName;
+    }
+
+    static class Sample {
+        void failedLastRun() {
+        }
+
+        void failedEarlier() {
+        }
+
+        void fastPassing() {
+        }
+
+        void slowPassing() {
+        }
+
+        void newTestA() {
+        }
+
+        void newTestB() {
+        }
+    }
+
+    static class FlakySample {
+    }
+
+    static class QuickSample {
+    }
+
+    static class SlowSample {
+    }
+
+    static class NewSample {
+    }
+
+    private static class FakeMethod implements MethodDescriptor {
+        private final Method method;
+
+        FakeMethod(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return method.getName();
+        }
+
+        @Override
+        public boolean isAnnotated(Class<? extends Annotation> annotationType) {
+            return false;
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType) {
+            return Optional.empty();
+        }
+
+        @Override
+        public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> annotationType) {
+            return List.of();
+        }
+    }
+
+    private static class FakeClass implements ClassDescriptor {
+        private final Class<?> testClass;
+
+        FakeClass(Class<?> testClass) {
+            this.testClass = testClass;
+        }
+
+        @Override
+        public Class<?> getTestClass() {
+            return testClass;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return testClass.getSimpleName();
+        }
+
+        @Override
+        public boolean isAnnotated(Class<? extends Annotation> annotationType) {
+            return false;
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType) {
+            return Optional.empty();
+        }
+
+        @Override
+        public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> annotationType) {
+            return List.of();
+        }
+    }
+
+    private static class FakeMethodContext implements MethodOrdererContext {
+        private final List<MethodDescriptor> methods;
+
+        FakeMethodContext(List<MethodDescriptor> methods) {
+            this.methods = methods;
+        }
+
+        @Override
+        public Class<?> getTestClass() {
+            return Sample.class;
+        }
+
+        @Override
+        public List<MethodDescriptor> getMethodDescriptors() {
+            return methods;
+        }
+
+        @Override
+        public Optional<String> getConfigurationParameter(String key) {
+            return Optional.empty();
+        }
+    }
+
+    private static class FakeClassContext implements ClassOrdererContext {
+        private final List<ClassDescriptor> classes;
+
+        FakeClassContext(List<ClassDescriptor> classes) {
+            this.classes = classes;
+        }
+
+        @Override
+        public List<ClassDescriptor> getClassDescriptors() {
+            return classes;
+        }
+
+        @Override
+        public Optional<String> getConfigurationParameter(String key) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package tests;
+
+import helpers.FaultProxy;
+import helpers.ReqresStandIn;
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import models.lombok.UserLoginAndRegistrationRequestModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import static helpers.FaultProxy.Distribution.NORMAL;
+import static helpers.FaultProxy.rule;
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static io.restassured.config.HttpClientConfig.httpClientConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static specs.Specs.*;
+
+// A proxy per test: every proxy is a separate host to RetryFilter, so one test's failures never open another's circuit.
+// Always in front of the local stand-in: timing assertions cannot absorb the public site's own latency.
+public class FaultInjectionTests {
+    String userEmail = "eve.holt@reqres.in",
+            userPassword = "cityslicka";
+    Integer injectedLatency = 300,
+            injectedJitter = 100,
+            bandwidth = 2000,
+            socketTimeout = 300,
+            retryAttempts = Integer.getInteger("reqres.retry.attempts", 3);
+
+    FaultProxy proxy;
+
+    @BeforeEach
+    void startProxy() {
+        proxy = FaultProxy.start(ReqresStandIn.instance().baseUri());
+    }
+
+    @AfterEach
+    void stopProxy() {
+        proxy.close();
+    }
+
+    @Test
+    @DisplayName("Injected latency delays only the targeted endpoint")
+    void latencyTest() {
+        proxy.inject(rule("GET", "users/{id}").latency(injectedLatency, injectedJitter, NORMAL));
+
+        Response delayed = step("Request the delayed endpoint", () ->
+                given(requestSpec).baseUri(proxy.baseUri()).get("users/2").then()
+                        .spec(responseWithCode200Spec).extract().response());
+        Response direct = step("Request another endpoint", () ->
+                given(requestSpec).baseUri(proxy.baseUri()).get("users?page=2").then()
+                        .spec(responseWithCode200Spec).extract().response());
+        step("Check only the targeted endpoint was delayed", () -> {
+            assertThat(delayed.getTime()).isGreaterThanOrEqualTo(injectedLatency.longValue());
+            assertThat(direct.getTime()).isLessThan(injectedLatency.longValue());
+        });
+    }
+
+    @Test
+    @DisplayName("Injected 429 reaches the client with Retry-After and is not retried")
+    void tooManyRequestsTest() {
+        proxy.inject(rule("POST", "login").status(429, 1));
+        UserLoginAndRegistrationRequestModel requestBody = new UserLoginAndRegistrationRequestModel();
+        requestBody.setEmail(userEmail);
+        requestBody.setPassword(userPassword);
+
+        Response response = step("Make request", () ->
+                given(requestSpec).baseUri(proxy.baseUri()).body(requestBody).post("login"));
+        step("Check status and Retry-After header", () -> {
+            assertThat(response.getStatusCode()).isEqualTo(429);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        });
+    }
+
+    @Test
+    @DisplayName("Persistent 503 on a GET is retried and then surfaced")
+    void serviceUnavailableTest() {
+        FaultProxy.Rule unavailable = rule("GET", "*").status(503, 1);
+        proxy.inject(unavailable);
+
+        step("Make request", () ->
+                given(requestSpec).baseUri(proxy.baseUri()).get("users/2").then().statusCode(503));
+        step("Check every configured attempt reached the proxy", () ->
+                assertThat(unavailable.hits()).isEqualTo(retryAttempts.longValue()));
+        step("Check other methods pass through", () ->
+                given(requestSpec).baseUri(proxy.baseUri()).body("{}").post("users").then()
+                        .spec(responseWithCode201Spec));
+    }
+
+    @Test
+    @DisplayName("Dropped connections fail the request with an I/O error")
+    void droppedConnectionTest() {
+        proxy.inject(rule("*", "users/{id}").drop(1));
+
+        step("Make request", () ->
+                assertThatThrownBy(() -> given(requestSpec).baseUri(proxy.baseUri()).get("users/2"))
+                        .isInstanceOf(IOException.class));
+    }
+
+    @Test
+    @DisplayName("Bandwidth cap slows the response body down")
+    void bandwidthTest() {
+        proxy.inject(rule("GET", "users").bandwidth(bandwidth));
+
+        // Response.getTime() stops at the headers, so the throttled body is timed on the wall clock
+        long start = System.nanoTime();
+        Response response = step("Make request", () ->
+                given(requestSpec).baseUri(proxy.baseUri()).get("users?page=2").then()
+                        .spec(responseWithCode200Spec).extract().response());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        // Content-Length is the encoded size, i.e. what the cap applied to
+        step("Check the body took as long as the cap allows", () ->
+                assertThat(elapsedMillis).isGreaterThanOrEqualTo(
+                        Long.parseLong(response.getHeader("Content-Length")) * 1000L / bandwidth - 50));
+    }
+
+    @Test
+    @DisplayName("A response slower than the socket timeout fails the request")
+    void socketTimeoutTest() {
+        proxy.inject(rule("GET", "users/{id}").latency(socketTimeout * 4, 0, NORMAL));
+        // RestAssured sets the timeout on the client itself, so it gets a client of its own, not a shared one
+        RestAssuredConfig withTimeout = RestAssured.config().httpClient(
+                httpClientConfig().setParam("http.socket.timeout", socketTimeout));
+
+        step("Make request", () ->
+                assertThatThrownBy(() -> given(requestSpec).baseUri(proxy.baseUri()).config(withTimeout)
+                        .get("users/2"))
+                        .isInstanceOf(SocketTimeoutException.class));
+    }
+}
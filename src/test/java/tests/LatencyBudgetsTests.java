@@ -0,0 +1,93 @@
+package tests;
+
+import helpers.LatencyBudgets;
+import helpers.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Budgets are read from a file of each test's own, never from the run's latency-budgets.properties
+public class LatencyBudgetsTests {
+    String userEndpoint = "GET users/{id}",
+            loginEndpoint = "POST login";
+    List<String> budgetLines = List.of(
+            "# comments and blank lines are ignored",
+            "",
+            "GET.users/{id}.p95 = 800",
+            "POST.login.p99.9=1500 ");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Budget keys are split into method, endpoint and percentile")
+    void parseTest() throws IOException {
+        LatencyBudgets budgets = budgets(budgetLines);
+
+        step("Check the budgets per endpoint", () -> {
+            assertThat(budgets.describe(userEndpoint)).isEqualTo("p95<800");
+            assertThat(budgets.describe(loginEndpoint)).isEqualTo("p99.9<1500");
+            assertThat(budgets.describe("GET unknown")).isEqualTo("-");
+        });
+        step("Check several budgets for one endpoint are all listed", () ->
+                assertThat(budgets(List.of("GET.users.p50=100", "GET.users.p95=300")).describe("GET users"))
+                        .contains("p50<100", "p95<300"));
+    }
+
+    @Test
+    @DisplayName("Malformed budget keys are rejected")
+    void malformedTest() {
+        for (String line : List.of("users.p95=800", "GET.users=800", "GET.users.pfast=800")) {
+            step("Check " + line, () -> assertThatThrownBy(() -> budgets(List.of(line)))
+                    .isInstanceOf(IllegalArgumentException.class));
+        }
+    }
+
+    @Test
+    @DisplayName("A percentile above its budget is a violation, one at the budget is not")
+    void violationsTest() throws IOException {
+        LatencyBudgets budgets = budgets(budgetLines);
+        // 95 samples at 100 ms put p95 at 100 ms; five slower ones sit above it
+        LatencyHistogram withinBudget = histogram(100, 95, 800, 5);
+        LatencyHistogram atBudget = histogram(800, 100, 0, 0);
+        LatencyHistogram overBudget = histogram(100, 94, 900, 6);
+
+        step("Check latencies within or at the budget pass", () -> {
+            assertThat(budgets.violations(Map.of(userEndpoint, withinBudget))).isEmpty();
+            assertThat(budgets.violations(Map.of(userEndpoint, atBudget))).isEmpty();
+        });
+        step("Check a breach is reported with the measured percentile and sample count", () ->
+                assertThat(budgets.violations(Map.of(userEndpoint, overBudget))).containsExactly(
+                        "GET users/{id} p95 = 900.0 ms exceeds budget of 800 ms (100 samples)"));
+        step("Check endpoints without samples are skipped", () ->
+                assertThat(budgets.violations(Map.of(loginEndpoint, new LatencyHistogram()))).isEmpty());
+    }
+
+    private LatencyBudgets budgets(List<String> lines) throws IOException {
+        Path file = directory.resolve("latency-budgets.properties");
+        Files.write(file, lines);
+        return LatencyBudgets.load(file);
+    }
+
+    private static LatencyHistogram histogram(long fastMillis, int fastCount, long slowMillis, int slowCount) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < fastCount; i++) {
+            histogram.record(fastMillis, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < slowCount; i++) {
+            histogram.record(slowMillis, TimeUnit.MILLISECONDS);
+        }
+        return histogram;
+    }
+}
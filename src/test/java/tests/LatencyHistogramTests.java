@@ -0,0 +1,103 @@
+package tests;
+
+import helpers.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Values are recorded in microseconds and read back in milliseconds
+public class LatencyHistogramTests {
+    Long largestExactMicros = 31L,
+            slowMicros = 10_000_000L;
+
+    @Test
+    @DisplayName("Values below 32 µs each get a bucket of their own")
+    void exactBucketsTest() {
+        step("Check each of them reads back unchanged", () -> {
+            for (long micros = 0; micros <= largestExactMicros; micros++) {
+                assertThat(histogram(micros, slowMicros).percentileMillis(50)).as("%d µs", micros)
+                        .isEqualTo(micros / 1000.0);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Buckets split at powers of two and report their upper bound")
+    void bucketBoundariesTest() {
+        step("Check 32 and 33 µs share a bucket ending at 33", () -> {
+            assertThat(histogram(32, slowMicros).percentileMillis(50)).isEqualTo(0.033);
+            assertThat(histogram(33, slowMicros).percentileMillis(50)).isEqualTo(0.033);
+        });
+        step("Check 63 µs ends the last bucket below 64", () ->
+                assertThat(histogram(63, slowMicros).percentileMillis(50)).isEqualTo(0.063));
+        step("Check 64 to 67 µs share the first bucket above it, twice as wide", () -> {
+            assertThat(histogram(64, slowMicros).percentileMillis(50)).isEqualTo(0.067);
+            assertThat(histogram(67, slowMicros).percentileMillis(50)).isEqualTo(0.067);
+            assertThat(histogram(68, slowMicros).percentileMillis(50)).isEqualTo(0.071);
+        });
+    }
+
+    @Test
+    @DisplayName("Every bucket is within 1/16 of the values it holds")
+    void relativeErrorTest() {
+        step("Check values from 32 µs to over an hour", () -> {
+            for (long micros = 32; micros < 5_000_000_000L; micros = micros * 3 / 2 + 1) {
+                long reported = Math.round(histogram(micros, Long.MAX_VALUE / 2).percentileMillis(50) * 1000);
+                assertThat((double) reported).as("%d µs", micros).isBetween((double) micros, micros * (1 + 1.0 / 16));
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Percentiles take the nearest rank, capped at the largest recorded value")
+    void nearestRankTest() {
+        LatencyHistogram histogram = histogram(LongStream.rangeClosed(1, 20).toArray());
+
+        step("Check ranks round up", () -> {
+            assertThat(histogram.percentileMillis(5)).isEqualTo(0.001);
+            assertThat(histogram.percentileMillis(50)).isEqualTo(0.010);
+            assertThat(histogram.percentileMillis(51)).isEqualTo(0.011);
+            assertThat(histogram.percentileMillis(95)).isEqualTo(0.019);
+            assertThat(histogram.percentileMillis(99)).isEqualTo(0.020);
+            assertThat(histogram.percentileMillis(100)).isEqualTo(0.020);
+        });
+        step("Check a bucket's upper bound is never reported above the maximum", () ->
+                assertThat(histogram(2000).percentileMillis(99)).isEqualTo(2.0));
+    }
+
+    @Test
+    @DisplayName("Count, mean, sum and maximum are exact, and an empty histogram reads zero")
+    void summaryTest() {
+        LatencyHistogram histogram = histogram(LongStream.rangeClosed(1, 20).toArray());
+        histogram.record(3, TimeUnit.MILLISECONDS);
+        histogram.record(-5, TimeUnit.MILLISECONDS);
+
+        step("Check the figures, with the negative duration counted as zero", () -> {
+            assertThat(histogram.count()).isEqualTo(22);
+            assertThat(histogram.sumMillis()).isCloseTo(3.21, within(1e-9));
+            assertThat(histogram.meanMillis()).isCloseTo(3.21 / 22, within(1e-9));
+            assertThat(histogram.maxMillis()).isEqualTo(3.0);
+            assertThat(histogram.percentileMillis(1)).isZero();
+        });
+        step("Check an empty histogram", () -> {
+            LatencyHistogram empty = new LatencyHistogram();
+            assertThat(empty.count()).isZero();
+            assertThat(empty.meanMillis()).isZero();
+            assertThat(empty.percentileMillis(99)).isZero();
+        });
+    }
+
+    private static LatencyHistogram histogram(long... micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : micros) {
+            histogram.record(value, TimeUnit.MICROSECONDS);
+        }
+        return histogram;
+    }
+}
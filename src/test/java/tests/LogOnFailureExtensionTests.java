@@ -0,0 +1,128 @@
+package tests;
+
+import helpers.ReqresStandIn;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static helpers.LogOnFailureFilter.logOnFailure;
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+// Runs sample classes in a launcher of its own, without the run's listeners, and reads the extension's report entries
+public class LogOnFailureExtensionTests {
+    static final String SAMPLES = "logOnFailure.samples";
+
+    Map<String, TestExecutionResult> results = new ConcurrentHashMap<>();
+    Map<String, String> dumps = new ConcurrentHashMap<>();
+
+    @Test
+    @DisplayName("A failing test prints the exchanges it made on its own thread and on threads it started")
+    void failingTestDumpsExchangesTest() {
+        step("Run a failing sample", () -> run(FailingSample.class));
+
+        step("Check it failed", () ->
+                assertThat(results.get("failing()").getStatus()).isEqualTo(TestExecutionResult.Status.FAILED));
+        step("Check both of its exchanges were printed", () -> assertThat(dumps.get("failing()"))
+                .contains("Request URI:\t" + ReqresStandIn.instance().baseUri() + "/api/users/2")
+                .contains("Request URI:\t" + ReqresStandIn.instance().baseUri() + "/api/users/3")
+                .contains("200"));
+    }
+
+    @Test
+    @DisplayName("A passing test prints nothing")
+    void passingTestDumpsNothingTest() {
+        step("Run a passing sample", () -> run(PassingSample.class));
+
+        step("Check it passed", () ->
+                assertThat(results.get("passing()").getStatus()).isEqualTo(TestExecutionResult.Status.SUCCESSFUL));
+        step("Check nothing was printed", () -> assertThat(dumps).isEmpty());
+    }
+
+    private void run(Class<?> sample) {
+        LauncherFactory.create(LauncherConfig.builder()
+                        .enableTestExecutionListenerAutoRegistration(false)
+                        .enableLauncherSessionListenerAutoRegistration(false)
+                        .build())
+                .execute(request()
+                        .selectors(selectClass(sample))
+                        .configurationParameter(SAMPLES, "true")
+                        .configurationParameter("junit.jupiter.extensions.autodetection.enabled", "true")
+                        .build(), new TestExecutionListener() {
+                    @Override
+                    public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+                        results.put(test.getDisplayName(), result);
+                    }
+
+                    @Override
+                    public void reportingEntryPublished(TestIdentifier test, ReportEntry entry) {
+                        entry.getKeyValuePairs().forEach((key, value) -> dumps.put(test.getDisplayName(), value));
+                    }
+                });
+    }
+
+    // One exchange on the test thread, one on a thread the test starts
+    static void exchanges() throws Exception {
+        sampleRequest().get("users/2");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> sampleRequest().get("users/3")).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static RequestSpecification sampleRequest() {
+        return given()
+                .noFilters()
+                .filter(logOnFailure())
+                .baseUri(ReqresStandIn.instance().baseUri())
+                .basePath("/api");
+    }
+
+    @ExtendWith(OnlyWhenLaunchedBySamplesRun.class)
+    static class FailingSample {
+        @Test
+        void failing() throws Exception {
+            exchanges();
+            assertThat(false).as("sample failure").isTrue();
+        }
+    }
+
+    @ExtendWith(OnlyWhenLaunchedBySamplesRun.class)
+    static class PassingSample {
+        @Test
+        void passing() throws Exception {
+            exchanges();
+        }
+    }
+
+    // Keeps the samples out of the suite itself, where the build hands every test class to the engine
+    static class OnlyWhenLaunchedBySamplesRun implements ExecutionCondition {
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            return context.getConfigurationParameter(SAMPLES, Boolean::parseBoolean).orElse(false)
+                    ? ConditionEvaluationResult.enabled("launched as a sample")
+                    : ConditionEvaluationResult.disabled("sample for LogOnFailureExtensionTests");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package tests;
+
+import helpers.FaultProxy;
+import helpers.MemoizingGetFilter;
+import helpers.ReqresStandIn;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static helpers.FaultProxy.Distribution.UNIFORM;
+import static helpers.FaultProxy.rule;
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static io.restassured.http.ContentType.JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A cache of its own per test, without the run's filters, and a proxy counting what reaches the stand-in
+public class MemoizingGetFilterTests {
+    Integer callers = 8,
+            upstreamLatency = 300,
+            waitSeconds = 30;
+    String acceptJson = "application/json",
+            acceptAnything = "*/*";
+
+    FaultProxy proxy;
+    MemoizingGetFilter cache;
+
+    @BeforeEach
+    void startProxy() {
+        proxy = FaultProxy.start(ReqresStandIn.instance().baseUri());
+        cache = MemoizingGetFilter.newCache();
+    }
+
+    @AfterEach
+    void stopProxy() {
+        proxy.close();
+    }
+
+    @Test
+    @DisplayName("Concurrent identical GETs share one upstream call, each caller with its own response")
+    void concurrentGetsShareOneCallTest() throws Exception {
+        // Slow enough upstream that every caller arrives while the first call is still in flight
+        FaultProxy.Rule users = rule("GET", "users/{id}").latency(upstreamLatency, 0, UNIFORM);
+        proxy.inject(users);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Response>> calls = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < callers; i++) {
+                calls.add(pool.submit(() -> {
+                    go.await();
+                    return request().accept(acceptJson).get("users/2");
+                }));
+            }
+            go.countDown();
+            List<Response> responses = new ArrayList<>();
+            for (Future<Response> call : calls) {
+                responses.add(call.get(waitSeconds, TimeUnit.SECONDS));
+            }
+            Response later = request().accept(acceptJson).get("users/2");
+
+            step("Check one call reached the upstream", () -> assertThat(users.hits()).isEqualTo(1));
+            step("Check every caller got the same answer in a response of its own", () -> {
+                responses.add(later);
+                assertThat(responses).extracting(Response::getStatusCode).containsOnly(200);
+                assertThat(responses).extracting(Response::asString).containsOnly(later.asString());
+                assertThat(responses).doesNotHaveDuplicates();
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A different Accept header misses the cache")
+    void acceptHeaderIsPartOfTheKeyTest() {
+        FaultProxy.Rule users = rule("GET", "users/{id}");
+        proxy.inject(users);
+
+        step("Request the same URI with two Accept headers, then the first again", () -> {
+            request().accept(acceptJson).get("users/2");
+            request().accept(acceptAnything).get("users/2");
+            request().accept(acceptJson).get("users/2");
+        });
+        step("Check each Accept header made one upstream call", () -> assertThat(users.hits()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Requests other than GET are never cached")
+    void otherMethodsAreNotCachedTest() {
+        FaultProxy.Rule everything = rule("*", "*");
+        proxy.inject(everything);
+
+        step("Send every request twice", () -> {
+            for (int i = 0; i < 2; i++) {
+                request().contentType(JSON).body("{}").post("users");
+                request().contentType(JSON).body("{}").put("users/2");
+                request().delete("users/2");
+            }
+        });
+        step("Check all of them reached the upstream", () -> assertThat(everything.hits()).isEqualTo(6));
+    }
+
+    @Test
+    @DisplayName("5xx responses are not kept")
+    void serverErrorsAreNotCachedTest() {
+        FaultProxy.Rule unavailable = rule("GET", "users/{id}").status(503, 1);
+        proxy.inject(unavailable);
+
+        step("Request the failing endpoint twice", () -> {
+            assertThat(request().get("users/2").getStatusCode()).isEqualTo(503);
+            assertThat(request().get("users/2").getStatusCode()).isEqualTo(503);
+        });
+        step("Check both calls reached the upstream", () -> assertThat(unavailable.hits()).isEqualTo(2));
+    }
+
+    private RequestSpecification request() {
+        return given()
+                .noFilters()
+                .filter(cache)
+                .baseUri(proxy.baseUri())
+                .basePath("/api");
+    }
+}
@@ -0,0 +1,114 @@
+package tests;
+
+import helpers.PageStream;
+import models.lombok.UsersListResponseModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Pages generated as they are read: RestAssured buffers a body before handing it out, so it cannot show streaming
+public class PageStreamTests {
+    Integer users = 200_000,
+            maxUsersReadAhead = 200;
+
+    @Test
+    @DisplayName("Every user of a large page reaches the callback in order and the page fields are bound")
+    void largePageTest() {
+        GeneratedUsersPage body = new GeneratedUsersPage(users);
+        List<Integer> outOfOrder = new ArrayList<>();
+        int[] seen = {0};
+
+        UsersListResponseModel page = step("Stream the page", () -> PageStream.users(body, user -> {
+            if (user.getID() != ++seen[0]) {
+                outOfOrder.add(user.getID());
+            }
+        }));
+        step("Check every user arrived once, in order", () -> {
+            assertThat(seen[0]).isEqualTo(users);
+            assertThat(outOfOrder).isEmpty();
+        });
+        step("Check fields before and after the list are bound without it", () -> {
+            assertThat(page.getTotal()).isEqualTo(users);
+            assertThat(page.getTotal_pages()).isEqualTo(1);
+            assertThat(page.getData()).isNull();
+        });
+        step("Check the body was read to the end and closed", () -> assertThat(body.closed).isTrue());
+    }
+
+    @Test
+    @DisplayName("Users reach the callback while the rest of the page is still unread")
+    void streamsAsItReadsTest() {
+        GeneratedUsersPage body = new GeneratedUsersPage(users);
+        int[] readAhead = {0};
+
+        step("Stream the page", () -> PageStream.users(body, user ->
+                readAhead[0] = Math.max(readAhead[0], body.generated - user.getID())));
+        step("Check the parser never ran far ahead of the callback", () ->
+                assertThat(readAhead[0]).isLessThanOrEqualTo(maxUsersReadAhead));
+    }
+
+    // A users page rendered one user at a time as the parser asks for more, so it never exists whole in memory
+    private static class GeneratedUsersPage extends InputStream {
+        final int users;
+        int generated;
+        boolean closed;
+        private byte[] chunk;
+        private int position;
+        private boolean ended;
+
+        GeneratedUsersPage(int users) {
+            this.users = users;
+            chunk = ("{\"page\":1,\"per_page\":" + users + ",\"total\":" + users + ",\"data\":[")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == chunk.length && !next()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private boolean next() {
+            if (ended) {
+                return false;
+            }
+            String text;
+            if (generated < users) {
+                generated++;
+                text = (generated > 1 ? "," : "") + "{\"id\":" + generated
+                        + ",\"email\":\"user" + generated + "@reqres.in\",\"first_name\":\"First" + generated
+                        + "\",\"last_name\":\"Last" + generated
+                        + "\",\"avatar\":\"https://reqres.in/img/faces/" + generated + "-image.jpg\"}";
+            } else {
+                ended = true;
+                text = "],\"total_pages\":1,\"support\":{\"url\":\"https://reqres.in\",\"text\":\"generated\"}}";
+            }
+            chunk = text.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package tests;
+
+import helpers.PageCrawler;
+import models.lombok.Color;
+import models.lombok.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PaginationCrawlerTests {
+    Integer expectedTotal = 12,
+            parallelism = 4;
+
+    @Test
+    @DisplayName("All pages of the user list are consistent")
+    void crawlUsersListTest() {
+        List<User> users = step("Crawl users 3 per page", () ->
+                PageCrawler.users(3, parallelism).crawl());
+        step("Check every user is present exactly once", () ->
+                assertThat(users).extracting(User::getID).hasSize(expectedTotal).doesNotHaveDuplicates());
+        step("Check users are in page order", () ->
+                assertThat(users).extracting(User::getID).isSorted());
+    }
+
+    @Test
+    @DisplayName("All pages of the color list are consistent")
+    void crawlColorsListTest() {
+        List<Color> colors = step("Crawl colors 4 per page", () ->
+                PageCrawler.colors(4, parallelism).crawl());
+        step("Check every color is present exactly once", () ->
+                assertThat(colors).extracting(Color::getID).hasSize(expectedTotal).doesNotHaveDuplicates());
+        step("Check the first and last color", () -> {
+            assertThat(colors.get(0).getName()).isEqualTo("cerulean");
+            assertThat(colors.get(colors.size() - 1).getName()).isEqualTo("honeysuckle");
+        });
+    }
+}
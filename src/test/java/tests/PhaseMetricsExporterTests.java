@@ -0,0 +1,101 @@
+package tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import helpers.LatencyHistogram;
+import helpers.ReqresObjectMapper;
+import helpers.RequestPhaseMetrics.Phase;
+import helpers.RequestPhaseMetrics.Transfer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static helpers.PhaseMetricsExporter.json;
+import static helpers.PhaseMetricsExporter.prometheus;
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Samples below 32 µs fall in buckets one microsecond wide, so every exported figure is exact
+public class PhaseMetricsExporterTests {
+    String endpoint = "GET users/{id}",
+            quotedEndpoint = "GET say\\\"hi\"",
+            escapedEndpoint = "GET say\\\\\\\"hi\\\"";
+    List<Long> ttfbMicros = List.of(10L, 20L, 30L);
+
+    Map<String, Map<Phase, LatencyHistogram>> phases = new TreeMap<>();
+    Map<String, Transfer> transfers = new TreeMap<>();
+
+    @BeforeEach
+    void fillMetrics() {
+        LatencyHistogram ttfb = new LatencyHistogram();
+        ttfbMicros.forEach(micros -> ttfb.record(micros, TimeUnit.MICROSECONDS));
+        LatencyHistogram connect = new LatencyHistogram();
+        connect.record(5, TimeUnit.MICROSECONDS);
+        Map<Phase, LatencyHistogram> byPhase = new EnumMap<>(Phase.class);
+        byPhase.put(Phase.TTFB, ttfb);
+        byPhase.put(Phase.CONNECT, connect);
+        phases.put(endpoint, byPhase);
+
+        Transfer transfer = new Transfer();
+        transfer.add(200, 900, 1500);
+        transfer.add(100, 300, 500);
+        transfers.put(endpoint, transfer);
+        transfers.put(quotedEndpoint, new Transfer());
+    }
+
+    @Test
+    @DisplayName("JSON export holds per-phase counts and percentiles in milliseconds, and the bytes per endpoint")
+    void jsonTest() throws Exception {
+        JsonNode root = step("Export", () -> ReqresObjectMapper.reader().readTree(json(phases, transfers)));
+
+        step("Check the phase figures", () -> {
+            JsonNode ttfb = root.path(endpoint).path("ttfb");
+            assertThat(ttfb.path("count").asLong()).isEqualTo(3);
+            assertThat(ttfb.path("mean_ms").asDouble()).isCloseTo(0.02, within(1e-9));
+            assertThat(ttfb.path("max_ms").asDouble()).isEqualTo(0.03);
+            assertThat(ttfb.path("p50_ms").asDouble()).isEqualTo(0.02);
+            assertThat(ttfb.path("p90_ms").asDouble()).isEqualTo(0.03);
+            assertThat(ttfb.path("p99_ms").asDouble()).isEqualTo(0.03);
+            assertThat(root.path(endpoint).path("connect").path("count").asLong()).isEqualTo(1);
+            assertThat(root.path(endpoint).has("dns")).isFalse();
+        });
+        step("Check the bytes", () -> {
+            JsonNode bytes = root.path(endpoint).path("bytes");
+            assertThat(bytes.path("requests").asLong()).isEqualTo(2);
+            assertThat(bytes.path("sent").asLong()).isEqualTo(300);
+            assertThat(bytes.path("received").asLong()).isEqualTo(1200);
+            assertThat(bytes.path("body").asLong()).isEqualTo(2000);
+            assertThat(root.path(quotedEndpoint).path("bytes").path("requests").asLong()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("Prometheus export is a summary in seconds and a byte counter, with escaped labels")
+    void prometheusTest() {
+        List<String> lines = step("Export", () -> prometheus(phases, transfers).lines()
+                .collect(Collectors.toList()));
+
+        step("Check the metric types", () -> assertThat(lines)
+                .contains("# TYPE reqres_request_phase_seconds summary",
+                        "# TYPE reqres_request_bytes_total counter"));
+        step("Check the summary series", () -> assertThat(lines).contains(
+                "reqres_request_phase_seconds{endpoint=\"GET users/{id}\",phase=\"ttfb\",quantile=\"0.5\"} 0.000020",
+                "reqres_request_phase_seconds{endpoint=\"GET users/{id}\",phase=\"ttfb\",quantile=\"0.99\"} 0.000030",
+                "reqres_request_phase_seconds_sum{endpoint=\"GET users/{id}\",phase=\"ttfb\"} 0.000060",
+                "reqres_request_phase_seconds_count{endpoint=\"GET users/{id}\",phase=\"ttfb\"} 3",
+                "reqres_request_phase_seconds_count{endpoint=\"GET users/{id}\",phase=\"connect\"} 1"));
+        step("Check the byte counters", () -> assertThat(lines).contains(
+                "reqres_request_bytes_total{endpoint=\"GET users/{id}\",direction=\"sent\"} 300",
+                "reqres_request_bytes_total{endpoint=\"GET users/{id}\",direction=\"received\"} 1200",
+                "reqres_request_bytes_total{endpoint=\"GET users/{id}\",direction=\"body\"} 2000"));
+        step("Check backslashes and quotes in labels are escaped", () -> assertThat(lines).contains(
+                "reqres_request_bytes_total{endpoint=\"" + escapedEndpoint + "\",direction=\"sent\"} 0"));
+    }
+}
@@ -0,0 +1,124 @@
+package tests;
+
+import com.sun.net.httpserver.HttpServer;
+import helpers.RecordReplayFilter;
+import helpers.ReqresStandIn;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static helpers.RecordReplayFilter.recordReplay;
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Replays go to a port nothing listens on, so an answer can only have come from the recording
+public class RecordReplayFilterTests {
+    String offlineBaseUri = "http://127.0.0.1:1",
+            usersPage = "users?page=2";
+    Set<String> wireHeaders = Set.of("content-encoding", "content-length", "transfer-encoding");
+    List<String> links = List.of("</api/users?page=1>; rel=\"prev\"", "</api/users?page=3>; rel=\"next\"");
+
+    @TempDir
+    Path recordings;
+
+    @Test
+    @DisplayName("A recorded exchange replays offline with its status, headers and body")
+    void roundTripTest() {
+        Response live = step("Record a gzip-encoded response from the stand-in", () ->
+                request(recordReplay("record", recordings), ReqresStandIn.instance().baseUri())
+                        .header("Accept-Encoding", "gzip")
+                        .get(usersPage));
+        Response replayed = step("Replay it offline", () ->
+                request(recordReplay("replay", recordings), offlineBaseUri)
+                        .header("Accept-Encoding", "gzip")
+                        .get(usersPage));
+
+        step("Check the live response was encoded on the wire", () ->
+                assertThat(live.getHeader("Content-Encoding")).isEqualTo("gzip"));
+        step("Check status and body", () -> {
+            assertThat(replayed.getStatusCode()).isEqualTo(live.getStatusCode());
+            assertThat(replayed.getStatusLine()).isEqualTo(live.getStatusLine());
+            assertThat(replayed.asString()).isEqualTo(live.asString());
+            assertThat(replayed.jsonPath().getInt("page")).isEqualTo(2);
+        });
+        step("Check the headers are the live ones without those describing the wire encoding", () -> {
+            Map<String, List<String>> expected = byName(live.getHeaders().asList());
+            wireHeaders.forEach(expected::remove);
+            assertThat(byName(replayed.getHeaders().asList())).isEqualTo(expected);
+            assertThat(replayed.getContentType()).isEqualTo(live.getContentType());
+        });
+    }
+
+    @Test
+    @DisplayName("Every value of a repeated header is replayed")
+    void multiValuedHeaderTest() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{\"page\":2}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().put("Link", links);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            step("Record a response with two Link headers", () ->
+                    request(recordReplay("record", recordings),
+                            "http://127.0.0.1:" + server.getAddress().getPort()).get(usersPage));
+        } finally {
+            server.stop(0);
+        }
+        Response replayed = step("Replay it offline", () ->
+                request(recordReplay("replay", recordings), offlineBaseUri).get(usersPage));
+
+        step("Check both values came back", () ->
+                assertThat(replayed.getHeaders().getValues("Link")).containsExactlyElementsOf(links));
+    }
+
+    @Test
+    @DisplayName("Replay-only mode fails on an exchange that was never recorded")
+    void missingRecordingTest() throws Exception {
+        step("Make request", () ->
+                assertThatThrownBy(() -> request(recordReplay("replay", recordings), offlineBaseUri).get(usersPage))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("No recording for GET"));
+        try (Stream<Path> files = Files.list(recordings)) {
+            step("Check nothing was written", () -> assertThat(files).isEmpty());
+        }
+    }
+
+    private static RequestSpecification request(RecordReplayFilter filter, String baseUri) {
+        return given()
+                .noFilters()
+                .filter(filter)
+                .baseUri(baseUri)
+                .basePath("/api");
+    }
+
+    // Header names are case-insensitive and their order across names carries no meaning
+    private static Map<String, List<String>> byName(List<Header> headers) {
+        return headers.stream().collect(Collectors.groupingBy(header -> header.getName().toLowerCase(Locale.ROOT),
+                TreeMap::new, Collectors.mapping(Header::getValue, Collectors.toList())));
+    }
+}
@@ -0,0 +1,49 @@
+package tests;
+
+import helpers.ApiCase;
+import helpers.ApiCasesSource;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.Matchers.notNullValue;
+import static specs.Specs.loginRequestWithoutJsonFormatSpec;
+import static specs.Specs.requestSpec;
+
+// Cases run as concurrent invocations; add a case by adding a line to the data file, not a method here
+public class ReqresDataDrivenTests {
+
+    @ParameterizedTest(name = "{0}")
+    @ApiCasesSource("cases/reqres-cases.json")
+    void jsonCasesTest(ApiCase apiCase) {
+        check(apiCase);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ApiCasesSource("cases/reqres-cases.csv")
+    void csvCasesTest(ApiCase apiCase) {
+        check(apiCase);
+    }
+
+    private static void check(ApiCase apiCase) {
+        ValidatableResponse response = step("Make request " + apiCase.getMethod() + " " + apiCase.getPath(), () -> {
+            RequestSpecification request = given(apiCase.isJson() ? requestSpec : loginRequestWithoutJsonFormatSpec);
+            if (apiCase.getBody() != null) {
+                request.body(apiCase.getBody());
+            }
+            return request
+                    .when()
+                    .request(apiCase.getMethod(), apiCase.getPath())
+                    .then();
+        });
+        step("Check status code " + apiCase.getStatus(), () ->
+                response.statusCode(apiCase.getStatus()));
+        apiCase.getExpected().forEach((path, value) -> step("Check " + path + " is " + value, () ->
+                response.body(path, hasToString(value))));
+        apiCase.getPresent().forEach(path -> step("Check " + path + " is present", () ->
+                response.body(path, notNullValue())));
+    }
+}
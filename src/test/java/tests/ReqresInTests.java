@@ -3,12 +3,12 @@ package tests;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static helpers.JsonSchemaRegistry.matchesCachedJsonSchema;
 import static io.restassured.RestAssured.given;
 import static io.restassured.http.ContentType.JSON;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static org.hamcrest.Matchers.*;
 
-public class ReqresInTests extends TestBase {
+public class ReqresInTests {
     @Test
     @DisplayName("User login and password are valid")
     void successfulLoginTest() {
@@ -202,7 +202,7 @@ public class ReqresInTests extends TestBase {
                 .log().status()
                 .log().body()
                 .statusCode(200)
-                .body(matchesJsonSchemaInClasspath("schemes/users-list-response-scheme.json"));
+                .body(matchesCachedJsonSchema("schemes/users-list-response-scheme.json"));
 
     }
 
@@ -1,13 +1,20 @@
 package tests;
 
+import helpers.ReqresObjectMapper;
+import helpers.RequestPhaseMetrics;
+import io.restassured.RestAssured;
 import models.lombok.*;
+import models.records.UserRecord;
+import models.records.UsersListRecord;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static helpers.MemoizingGetFilter.memoizeGets;
+import static helpers.RecordReplayFilter.recordReplay;
 import static io.qameta.allure.Allure.step;
 import static io.restassured.RestAssured.given;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.assertj.core.api.Assertions.assertThat;
 import static specs.Specs.*;
 
@@ -225,8 +232,7 @@ public class ReqresInWithSpecsTest {
                         .when()
                         .get("users?page=2")
                         .then()
-                        .spec(responseWithCode200Spec)
-                        .body(matchesJsonSchemaInClasspath("schemes/users-list-response-scheme.json")));
+                        .spec(usersListResponseSpec));
 
     }
 
@@ -252,6 +258,57 @@ public class ReqresInWithSpecsTest {
 
     }
 
+    @Test
+    @DisplayName("Check users list by IDs and names (immutable record model)")
+    void getUsersListIDsAndNamesAsRecordTest() {
+
+        UsersListRecord response = step("Make request", () ->
+                given(requestSpec)
+                        .when()
+                        .get("users?page=2")
+                        .then()
+                        .spec(responseWithCode200Spec)
+                        .extract().as(UsersListRecord.class));
+        UserRecord firstUser = response.data().get(0),
+                lastUser = response.data().get(response.data().size() - 1);
+        step("Check IDs of the first and last user in response", () -> {
+            assertThat(firstUser.id()).isEqualTo(expectedIDOfFirstUser);
+            assertThat(lastUser.id()).isEqualTo(expectedIDOfLastUser);
+        });
+        step("Check names of the first and last user in response", () -> {
+            assertThat(firstUser.lastName()).isEqualTo(expectedLastNameOfFirstUser);
+            assertThat(lastUser.lastName()).isEqualTo(expectedLastNameOfLastUser);
+        });
+        step("Check RestAssured mapped it with the shared mapper", () ->
+                assertThat(RestAssured.config().getObjectMapperConfig().jackson2ObjectMapperFactory()
+                        .create(UsersListRecord.class, "UTF-8"))
+                        .isSameAs(ReqresObjectMapper.factory().create(UsersListRecord.class, "UTF-8")));
+        step("Check the record survives a round trip through the shared mapper", () ->
+                assertThat(ReqresObjectMapper.reader(UsersListRecord.class)
+                        .<UsersListRecord>readValue(ReqresObjectMapper.writer().writeValueAsBytes(response)))
+                        .isEqualTo(response));
+    }
+
+    @Test
+    @DisplayName("Users list arrives compressed and is decoded")
+    void getUsersListCompressedTest() {
+        // A globally registered memoising filter would still answer from memory, and replay-only runs stay offline
+        assumeFalse(memoizeGets().isEnabled(), "GETs are memoised");
+        assumeFalse(recordReplay().isReplayOnly(), "recordings are replayed");
+        String contentEncoding = step("Make request", () ->
+                given(compressedRequestSpec())
+                        .when()
+                        .get("users?page=2")
+                        .then()
+                        .spec(usersListResponseSpec)
+                        .extract().header("Content-Encoding"));
+        RequestPhaseMetrics.Transfer transfer = RequestPhaseMetrics.lastTransfer();
+        step("Check the response was gzip-encoded", () ->
+                assertThat(contentEncoding).isEqualTo("gzip"));
+        step("Check fewer bytes crossed the wire than the decoded body has", () ->
+                assertThat(transfer.received()).isPositive().isLessThan(transfer.body()));
+    }
+
     @Test
     @DisplayName("Test of sending an unknown request (single user №23 doesn't exist)")
     void getNonExistentUserWithSpecsTest() {
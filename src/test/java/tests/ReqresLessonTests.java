@@ -2,11 +2,16 @@ package tests;
 
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
 import models.lombok.LoginBodyLombokModel;
 import models.lombok.LoginResponseLombokModel;
 import models.pojo.LoginBodyPojoModel;
 import models.pojo.LoginResponsePojoModel;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static helpers.CustomAllureListener.withCustomTemplates;
 import static io.qameta.allure.Allure.step;
@@ -16,6 +21,8 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static specs.Specs.*;
 
+// successfulLoginWithAllureAsConfigTest mutates the global RestAssured filters, so this class never overlaps other tests
+@Isolated
 public class ReqresLessonTests {
 
     @Test
@@ -106,26 +113,31 @@ public class ReqresLessonTests {
 
     @Test
     void successfulLoginWithAllureAsConfigTest() {
+        List<Filter> globalFilters = new ArrayList<>(RestAssured.filters());
         RestAssured.filters(new AllureRestAssured());
 
-        LoginBodyLombokModel requestBody = new LoginBodyLombokModel();
-        requestBody.setEmail("eve.holt@reqres.in");
-        requestBody.setPassword("cityslicka");
-
-        LoginResponseLombokModel loginResponse = given()
-                .log().uri()
-                .log().body()
-                .contentType(JSON)
-                .body(requestBody)
-                .when()
-                .post("login")
-                .then()
-                .log().status()
-                .log().body()
-                .statusCode(200)
-                .extract().as(LoginResponseLombokModel.class);
-
-        assertEquals("QpwL5tke4Pnpja7X4", loginResponse.getToken());
+        try {
+            LoginBodyLombokModel requestBody = new LoginBodyLombokModel();
+            requestBody.setEmail("eve.holt@reqres.in");
+            requestBody.setPassword("cityslicka");
+
+            LoginResponseLombokModel loginResponse = given()
+                    .log().uri()
+                    .log().body()
+                    .contentType(JSON)
+                    .body(requestBody)
+                    .when()
+                    .post("login")
+                    .then()
+                    .log().status()
+                    .log().body()
+                    .statusCode(200)
+                    .extract().as(LoginResponseLombokModel.class);
+
+            assertEquals("QpwL5tke4Pnpja7X4", loginResponse.getToken());
+        } finally {
+            RestAssured.replaceFiltersWith(globalFilters);
+        }
     }
 
     @Test
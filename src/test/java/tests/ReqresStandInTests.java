@@ -0,0 +1,68 @@
+package tests;
+
+import helpers.ReqresStandIn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static specs.Specs.*;
+
+// The stand-in's own input checks; the public site answers these differently, so they always run locally
+public class ReqresStandInTests {
+    String malformedBody = "{\"name\": \"morpheus\",";
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "users?per_page=0, per_page",
+            "users?per_page=-1, per_page",
+            "users?per_page=six, per_page",
+            "users?page=0, page",
+            "users?page=two, page",
+            "unknown?page=&per_page=3, page"
+    })
+    @DisplayName("Paging parameters that are not positive numbers get a 400")
+    void invalidPagingTest(String path, String invalidParameter) {
+        step("Make request", () ->
+                given(requestSpec)
+                        .baseUri(ReqresStandIn.instance().baseUri())
+                        .when()
+                        .get(path)
+                        .then()
+                        .spec(responseWithCode400Spec)
+                        .body("error", startsWith(invalidParameter + " ")));
+    }
+
+    @Test
+    @DisplayName("A page far past the end is empty instead of wrapping around")
+    void hugePageTest() {
+        step("Make request", () ->
+                given(requestSpec)
+                        .baseUri(ReqresStandIn.instance().baseUri())
+                        .when()
+                        .get("users?page=2147483647&per_page=2147483647")
+                        .then()
+                        .spec(responseWithCode200Spec)
+                        .body("data.size()", is(0)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"login", "register", "users"})
+    @DisplayName("A malformed JSON body gets a 400 instead of a dropped connection")
+    void malformedJsonTest(String path) {
+        step("Make request", () ->
+                given(requestSpec)
+                        .baseUri(ReqresStandIn.instance().baseUri())
+                        .body(malformedBody)
+                        .when()
+                        .post(path)
+                        .then()
+                        .spec(responseWithCode400Spec)
+                        .body("error", is("Malformed JSON body")));
+    }
+}
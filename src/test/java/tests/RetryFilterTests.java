@@ -0,0 +1,119 @@
+package tests;
+
+import helpers.CircuitBreaker;
+import helpers.FaultProxy;
+import helpers.ReqresStandIn;
+import helpers.RetryFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static helpers.FaultProxy.rule;
+import static helpers.RetryFilter.retryTransientFailures;
+import static io.qameta.allure.Allure.step;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Breakers and filters of their own per test; the run's shared circuits are never touched
+public class RetryFilterTests {
+    Integer failureThreshold = 3,
+            coolDownMillis = 200;
+    String host = "http://reqres.test";
+
+    @Test
+    @DisplayName("The circuit opens after the configured number of consecutive failures")
+    void opensAfterThresholdTest() {
+        CircuitBreaker circuit = new CircuitBreaker(host, failureThreshold, Duration.ofMinutes(1));
+
+        step("Fail one call short of the threshold, with a success in between", () -> {
+            circuit.recordFailure();
+            circuit.recordSuccess();
+            for (int i = 1; i < failureThreshold; i++) {
+                circuit.recordFailure();
+            }
+            assertThatCode(circuit::checkClosed).doesNotThrowAnyException();
+        });
+        step("Fail once more and check calls fail fast", () -> {
+            circuit.recordFailure();
+            assertThatThrownBy(circuit::checkClosed)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Circuit open for " + host);
+        });
+    }
+
+    @Test
+    @DisplayName("After the cool-down one trial call goes through, and its failure opens the circuit again")
+    void failedTrialReopensTest() throws InterruptedException {
+        CircuitBreaker circuit = open();
+
+        Thread.sleep(coolDownMillis);
+        step("Check exactly one trial call is let through", () -> {
+            assertThatCode(circuit::checkClosed).doesNotThrowAnyException();
+            assertThatThrownBy(circuit::checkClosed).isInstanceOf(IllegalStateException.class);
+        });
+        step("Fail the trial and check the circuit is open at once", () -> {
+            circuit.recordFailure();
+            assertThatThrownBy(circuit::checkClosed).isInstanceOf(IllegalStateException.class);
+        });
+    }
+
+    @Test
+    @DisplayName("A successful trial call closes the circuit")
+    void successfulTrialClosesTest() throws InterruptedException {
+        CircuitBreaker circuit = open();
+
+        Thread.sleep(coolDownMillis);
+        step("Let the trial through and succeed", () -> {
+            circuit.checkClosed();
+            circuit.recordSuccess();
+        });
+        step("Check calls go through again", () -> {
+            assertThatCode(circuit::checkClosed).doesNotThrowAnyException();
+            assertThatCode(circuit::checkClosed).doesNotThrowAnyException();
+        });
+    }
+
+    @Test
+    @DisplayName("An open circuit stops calls to its own host only")
+    void circuitPerHostTest() {
+        RetryFilter retry = retryTransientFailures(1, Duration.ZERO, Duration.ZERO, failureThreshold,
+                Duration.ofMinutes(1));
+        try (FaultProxy failing = FaultProxy.start(ReqresStandIn.instance().baseUri());
+             FaultProxy healthy = FaultProxy.start(ReqresStandIn.instance().baseUri())) {
+            FaultProxy.Rule unavailable = rule("*", "*").status(503, 1);
+            FaultProxy.Rule counted = rule("*", "*");
+            failing.inject(unavailable);
+            healthy.inject(counted);
+
+            step("Fail the threshold's worth of calls to one host", () -> {
+                for (int i = 0; i < failureThreshold; i++) {
+                    assertThat(given().noFilters().filter(retry).baseUri(failing.baseUri()).basePath("/api")
+                            .get("users/2").getStatusCode()).isEqualTo(503);
+                }
+            });
+            step("Check the next call to it fails fast without reaching it", () -> {
+                assertThatThrownBy(() -> given().noFilters().filter(retry).baseUri(failing.baseUri())
+                        .basePath("/api").get("users/2"))
+                        .isInstanceOf(IllegalStateException.class);
+                assertThat(unavailable.hits()).isEqualTo(failureThreshold.longValue());
+            });
+            step("Check the other host is still called", () -> {
+                assertThat(given().noFilters().filter(retry).baseUri(healthy.baseUri()).basePath("/api")
+                        .get("users/2").getStatusCode()).isEqualTo(200);
+                assertThat(counted.hits()).isEqualTo(1);
+            });
+        }
+    }
+
+    private CircuitBreaker open() {
+        CircuitBreaker circuit = new CircuitBreaker(host, failureThreshold, Duration.ofMillis(coolDownMillis));
+        for (int i = 0; i < failureThreshold; i++) {
+            circuit.recordFailure();
+        }
+        assertThatThrownBy(circuit::checkClosed).isInstanceOf(IllegalStateException.class);
+        return circuit;
+    }
+}
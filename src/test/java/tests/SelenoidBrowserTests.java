@@ -0,0 +1,42 @@
+package tests;
+
+import com.codeborne.selenide.Configuration;
+import helpers.ReqresTarget;
+import helpers.SelenoidCapacityExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static com.codeborne.selenide.Selenide.closeWebDriver;
+import static com.codeborne.selenide.Selenide.open;
+import static com.codeborne.selenide.Selenide.title;
+import static helpers.SelenoidStatus.selenoid;
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every browser session on the shared grid waits for a free slot first; the browser is closed before the slot is released
+@ExtendWith(SelenoidCapacityExtension.class)
+public class SelenoidBrowserTests {
+    String expectedTitle = "Reqres";
+
+    @BeforeAll
+    static void configureRemoteBrowser() {
+        Configuration.remote = selenoid().webDriverUrl();
+        Configuration.browser = "chrome";
+        Configuration.browserVersion = "100.0";
+    }
+
+    @AfterEach
+    void closeBrowser() {
+        closeWebDriver();
+    }
+
+    @Test
+    @DisplayName("The Reqres home page opens in a grid browser")
+    void homePageTest() {
+        step("Open the home page", () -> open(ReqresTarget.REMOTE_BASE_URI));
+        step("Check the title", () -> assertThat(title()).contains(expectedTitle));
+    }
+}
@@ -2,38 +2,31 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 
-import static io.restassured.RestAssured.get;
-import static io.restassured.RestAssured.given;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static helpers.SelenoidStatus.selenoid;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static specs.Specs.selenoidStatusResponseSpec;
 
 
+// All tests read the same cached /status snapshot instead of polling the shared grid each time
 public class SelenoidTests {
 
     @Test
     void checkTotal() {
-        given()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        selenoid().status()
                 .then()
                 .body("total", is(20));
     }
 
     @Test
     void checkTotalMini() {
-        get("https://selenoid.autotests.cloud/status")
-                .then()
-                .body("total", is(20));
+        assertEquals(20, selenoid().model().getTotal());
     }
 
     @Test
     void checkTotalWithLogs() {
-        given()
-                .log().all()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        selenoid().status()
                 .then()
                 .log().all()
                 .body("total", is(20));
@@ -41,11 +34,7 @@ public class SelenoidTests {
 
     @Test
     void checkTotalWithNotAllLogs() {
-        given()
-                .log().uri()
-                .log().body()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        selenoid().status()
                 .then()
                 .log().status()
                 .log().body()
@@ -54,11 +43,7 @@ public class SelenoidTests {
 
     @Test
     void checkTotalWithStatus() {
-        given()
-                .log().uri()
-                .log().body()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        selenoid().status()
                 .then()
                 .log().status()
                 .log().body()
@@ -68,11 +53,7 @@ public class SelenoidTests {
 
     @Test
     void checkTotalAndVersion() {
-        given()
-                .log().uri()
-                .log().body()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        selenoid().status()
                 .then()
                 .log().status()
                 .log().body()
@@ -90,11 +71,7 @@ public class SelenoidTests {
                 "\"firefox\":{\"97.0\":{},\"98.0\":{}}," +
                 "\"opera\":{\"84.0\":{},\"85.0\":{}}}}\n"; // STRING IS BAD PRACTICE, move to models
 
-        String actualResponse = given()
-                .log().uri()
-                .log().body()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        String actualResponse = selenoid().status()
                 .then()
                 .log().status()
                 .log().body()
@@ -108,11 +85,7 @@ public class SelenoidTests {
     void checkResponseGoodPractice() {
         Integer expectedTotal = 20;
 
-        Integer actualTotal = given()
-                .log().uri()
-                .log().body()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        Integer actualTotal = selenoid().status()
                 .then()
                 .log().status()
                 .log().body()
@@ -124,17 +97,10 @@ public class SelenoidTests {
 
     @Test
     void checkJsonScheme() {
-        given()
-                .log().uri()
-                .log().body()
-                .when()
-                .get("https://selenoid.autotests.cloud/status")
+        selenoid().status()
                 .then()
-                .log().status()
-                .log().body()
-                .statusCode(200)
-                .body(matchesJsonSchemaInClasspath("schemes/status-response-scheme.json"))
+                .spec(selenoidStatusResponseSpec)
                 .body("total", is(20))
                 .body("browsers.chrome", hasKey("100.0"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package tests;
+
+import com.sun.net.httpserver.HttpServer;
+import helpers.SelenoidCapacityExtension;
+import helpers.SelenoidThrottle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static helpers.SelenoidStatus.selenoid;
+import static helpers.SelenoidThrottle.throttle;
+import static io.qameta.allure.Allure.step;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Each test gets a local fake grid with three free slots; the capacity extension already holds one of them
+public class SelenoidThrottleTests {
+    Integer totalSessions = 3,
+            slowStatusMillis = 1000;
+    Duration throttleTimeout = Duration.ofSeconds(1),
+            statusTtl = Duration.ofMinutes(1);
+
+    // One snapshot for the whole test, so every session the test starts counts on top of it
+    FakeGrid grid = new FakeGrid(totalSessions);
+    SelenoidThrottle throttle = throttle(selenoid(grid.baseUri(), statusTtl), 0, throttleTimeout);
+
+    @RegisterExtension
+    SelenoidCapacityExtension capacity = new SelenoidCapacityExtension(throttle);
+
+    @AfterEach
+    void stopGrid() {
+        grid.close();
+    }
+
+    @Test
+    @DisplayName("The capacity extension holds a session for the running test")
+    void extensionHoldsSessionTest() throws InterruptedException {
+        SelenoidThrottle.Permit first = throttle.acquire();
+        SelenoidThrottle.Permit second = throttle.acquire();
+        try {
+            step("Check the last slot is taken by the test itself", () ->
+                    assertThatThrownBy(throttle::acquire)
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("stayed full"));
+        } finally {
+            second.close();
+            first.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A released session lets a waiting one through")
+    void releaseWakesWaiterTest() throws Exception {
+        SelenoidThrottle.Permit first = throttle.acquire();
+        SelenoidThrottle.Permit second = throttle.acquire();
+        try {
+            CompletableFuture<SelenoidThrottle.Permit> waiting = CompletableFuture.supplyAsync(() -> acquire(throttle));
+            step("Release a session", first::close);
+            step("Check the waiting session got in", () ->
+                    waiting.get(throttleTimeout.toMillis(), TimeUnit.MILLISECONDS).close());
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Releasing a session does not wait for a slow status call")
+    void releaseDuringSlowStatusTest() throws Exception {
+        // Refetches the status on every attempt
+        SelenoidThrottle refetching = throttle(selenoid(grid.baseUri(), Duration.ZERO), 0, throttleTimeout);
+        SelenoidThrottle.Permit permit = refetching.acquire();
+        grid.delayMillis = slowStatusMillis;
+        CompletableFuture<SelenoidThrottle.Permit> fetching = CompletableFuture.supplyAsync(() -> acquire(refetching));
+        Thread.sleep(slowStatusMillis / 5);
+
+        long start = System.nanoTime();
+        permit.close();
+        long releaseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        step("Check the release went through while the status was being fetched", () ->
+                assertThat(releaseMillis).isLessThan(slowStatusMillis / 2L));
+        fetching.get(slowStatusMillis * 5L, TimeUnit.MILLISECONDS).close();
+    }
+
+    private static SelenoidThrottle.Permit acquire(SelenoidThrottle throttle) {
+        try {
+            return throttle.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // /status reports every slot free, after delayMillis
+    private static class FakeGrid implements AutoCloseable {
+        private final HttpServer server;
+        volatile long delayMillis;
+
+        FakeGrid(int total) {
+            byte[] status = ("{\"total\":" + total + ",\"used\":0,\"queued\":0,\"pending\":0,\"browsers\":{}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start fake grid", e);
+            }
+            server.createContext("/status", exchange -> {
+                try (exchange) {
+                    Thread.sleep(delayMillis);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, status.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(status);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            server.start();
+        }
+
+        String baseUri() {
+            return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+}
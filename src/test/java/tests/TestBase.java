@@ -1,12 +0,0 @@
-package tests;
-
-import io.restassured.RestAssured;
-import org.junit.jupiter.api.BeforeAll;
-
-public class TestBase {
-    @BeforeAll
-    static void beforeAll() {
-        RestAssured.baseURI = "https://reqres.in";
-        RestAssured.basePath = "/api/";
-    }
-}
@@ -2,22 +2,10 @@
 <#-- @ftlvariable name="data" type="io.qameta.allure.attachment.http.HttpResponseAttachment" -->
 <head>
     <meta http-equiv="content-type" content="text/html; charset = UTF-8">
-    <script src="https://yastatic.net/jquery/2.2.3/jquery.min.js" crossorigin="anonymous"></script>
-
-    <link href="https://yastatic.net/bootstrap/3.3.6/css/bootstrap.min.css" rel="stylesheet" crossorigin="anonymous">
-    <script src="https://yastatic.net/bootstrap/3.3.6/js/bootstrap.min.js" crossorigin="anonymous"></script>
-
-    <link type="text/css" href="https://yandex.st/highlightjs/8.0/styles/github.min.css" rel="stylesheet"/>
-    <script type="text/javascript" src="https://yandex.st/highlightjs/8.0/highlight.min.js"></script>
-    <script type="text/javascript" src="https://yandex.st/highlightjs/8.0/languages/bash.min.js"></script>
-    <script type="text/javascript" src="https://yandex.st/highlightjs/8.0/languages/json.min.js"></script>
-    <script type="text/javascript" src="https://yandex.st/highlightjs/8.0/languages/xml.min.js"></script>
-    <script type="text/javascript">hljs.initHighlightingOnLoad();</script>
-
     <style>
-        pre {
-            white-space: pre-wrap;
-        }
+        body { font: 13px/1.4 -apple-system, "Segoe UI", Helvetica, Arial, sans-serif; color: #24292e; }
+        h4 { margin: 12px 0 4px; }
+        pre { white-space: pre-wrap; margin: 0 0 4px; padding: 6px; background: #f6f8fa; border-radius: 3px; }
     </style>
 </head>
 <body>
@@ -27,7 +15,7 @@
 <#if data.url??>
 
     <div>
-    <pre><code>${data.url}</code></pre>
+    <pre><code>${data.url?html}</code></pre>
     </div></#if>
 
 <#if (data.headers)?has_content>
@@ -35,7 +23,7 @@
     <div>
         <#list data.headers as name, value>
             <div>
-                <pre><code><b>${name}</b>: ${value}</code></pre>
+                <pre><code><b>${name?html}</b>: ${value?html}</code></pre>
             </div>
         </#list>
     </div>
@@ -44,7 +32,7 @@
 <#if data.body??>
     <h4>Body</h4>
     <div>
-        <pre><code>${data.body}</code></pre>
+        <pre><code>${data.body?html}</code></pre>
     </div>
 </#if>
 
@@ -53,10 +41,10 @@
     <div>
         <#list data.cookies as name, value>
             <div>
-                <pre><code><b>${name}</b>: ${value}</code></pre>
+                <pre><code><b>${name?html}</b>: ${value?html}</code></pre>
             </div>
         </#list>
     </div>
 </#if>
 </body>
-</html>
\ No newline at end of file
+</html>